@@ -0,0 +1,61 @@
+package com.example.ctreview.bench;
+
+import com.example.ctreview.CtReviewApplication;
+import com.example.ctreview.entity.Problem;
+import com.example.ctreview.entity.ProblemDifficulty;
+import com.example.ctreview.entity.User;
+import com.example.ctreview.repository.ProblemRepository;
+import com.example.ctreview.repository.UserRepository;
+import com.example.ctreview.service.ReviewService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 벤치마크용 애플리케이션 컨텍스트 (웹 서버 없이, 벤치마크마다 별도 H2 메모리 DB).
+ */
+final class BenchContext {
+    private static final ProblemDifficulty[] DIFFICULTIES = ProblemDifficulty.values();
+
+    private BenchContext() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(CtReviewApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID(),
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "logging.level.com.example.ctreview=WARN")
+                .run();
+    }
+
+    static User createUser(ConfigurableApplicationContext ctx, String email) {
+        User u = new User();
+        u.setEmail(email);
+        u.setPasswordHash("-");
+        return ctx.getBean(UserRepository.class).save(u);
+    }
+
+    /**
+     * 사용자에게 size 개의 문제를 1,000 건 단위로 저장한다.
+     */
+    static void seedProblems(ConfigurableApplicationContext ctx, User user, int size) {
+        ReviewService reviewService = ctx.getBean(ReviewService.class);
+        ProblemRepository problemRepo = ctx.getBean(ProblemRepository.class);
+        List<Problem> chunk = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            chunk.add(reviewService.newProblem(user, i, "problem-" + i, null, DIFFICULTIES[i % DIFFICULTIES.length]));
+            if (chunk.size() == 1000) {
+                problemRepo.saveAll(chunk);
+                chunk.clear();
+            }
+        }
+        problemRepo.saveAll(chunk);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.ctreview.bench;
+
+import com.example.ctreview.controller.DashboardController;
+import com.example.ctreview.dto.DashboardSummaryDto;
+import com.example.ctreview.entity.Problem;
+import com.example.ctreview.entity.ReviewAction;
+import com.example.ctreview.entity.ReviewLog;
+import com.example.ctreview.entity.User;
+import com.example.ctreview.repository.ProblemRepository;
+import com.example.ctreview.repository.ReviewLogRepository;
+import com.example.ctreview.service.DailyActivityService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpSession;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DashboardController.summary 집계 비용. 요청 사용자의 이력 길이와 다른 사용자 로그 수를 함께 늘려 측정한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DashboardBenchmark {
+
+    @Param({"30", "365", "1000"})
+    public int historyDays;
+
+    @Param({"10"})
+    public int logsPerDay;
+
+    private ConfigurableApplicationContext ctx;
+    private DashboardController controller;
+    private MockHttpSession session;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ctx = BenchContext.start();
+        User user = BenchContext.createUser(ctx, "dashboard@bench");
+        User other = BenchContext.createUser(ctx, "other@bench");
+        seedHistory(user);
+        seedHistory(other);
+
+        controller = ctx.getBean(DashboardController.class);
+        session = new MockHttpSession();
+        session.setAttribute("uid", user.getId());
+    }
+
+    // 사용자당 logsPerDay 개 문제를 historyDays 일 동안 매일 처리한 이력
+    private void seedHistory(User user) {
+        BenchContext.seedProblems(ctx, user, logsPerDay);
+        List<Problem> problems = ctx.getBean(ProblemRepository.class).findByUser(user);
+        ReviewLogRepository logRepo = ctx.getBean(ReviewLogRepository.class);
+        DailyActivityService activityService = ctx.getBean(DailyActivityService.class);
+        LocalDate today = LocalDate.now(ctx.getBean(Clock.class));
+
+        List<ReviewLog> logs = new ArrayList<>();
+        for (int d = historyDays - 1; d >= 0; d--) {
+            LocalDate day = today.minusDays(d);
+            int solves = 0;
+            for (int i = 0; i < problems.size(); i++) {
+                ReviewAction action = (i + d) % 3 == 0 ? ReviewAction.FAIL : ReviewAction.SOLVE;
+                if (action == ReviewAction.SOLVE) solves++;
+                logs.add(ReviewLog.builder()
+                        .problem(problems.get(i))
+                        .user(user)
+                        .action(action)
+                        .actionDate(day)
+                        .build());
+            }
+            activityService.record(user, day, solves, problems.size() - solves);
+            if (logs.size() >= 1000) {
+                logRepo.saveAll(logs);
+                logs.clear();
+            }
+        }
+        logRepo.saveAll(logs);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ctx.close();
+    }
+
+    @Benchmark
+    public DashboardSummaryDto summary() {
+        return controller.summary(session);
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.ctreview.bench;
+
+import com.example.ctreview.CtReviewApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 플랫폼 스레드 / 가상 스레드 모드 부하 비교.
+ * 모드마다 실제 웹 서버(임의 포트)를 띄우고, 클라이언트마다 로그인 후
+ * 오늘 목록 조회를 반복하며 20회마다 다시 로그인(bcrypt)한다. 처리량과 p99 지연을 출력한다.
+ * 실행: ./gradlew loadTest -PloadTest.clients=200 -PloadTest.seconds=20
+ */
+public final class LoadTest {
+    private static final int LOGIN_EVERY = 20;
+
+    private record Result(String mode, long requests, long errors, double seconds, long[] latenciesMicros) {
+        double throughput() {
+            return requests / seconds;
+        }
+
+        long percentile(double p) {
+            if (latenciesMicros.length == 0) return 0;
+            return latenciesMicros[(int) Math.min(latenciesMicros.length - 1, Math.ceil(p * latenciesMicros.length) - 1)];
+        }
+    }
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        List<Result> results = new ArrayList<>();
+        for (boolean virtual : new boolean[]{false, true}) {
+            results.add(run(virtual, clients, seconds));
+        }
+        System.out.printf("%n%-10s %10s %8s %10s %10s%n", "mode", "req/s", "errors", "p50(ms)", "p99(ms)");
+        for (Result r : results) {
+            System.out.printf("%-10s %10.1f %8d %10.2f %10.2f%n", r.mode(), r.throughput(), r.errors(),
+                    r.percentile(0.50) / 1000.0, r.percentile(0.99) / 1000.0);
+        }
+    }
+
+    private static Result run(boolean virtual, int clients, int seconds) throws Exception {
+        String mode = virtual ? "virtual" : "platform";
+        try (ConfigurableApplicationContext ctx = new SpringApplicationBuilder(CtReviewApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "spring.datasource.url=jdbc:h2:mem:load-" + UUID.randomUUID(),
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "logging.level.com.example.ctreview=WARN")
+                .run()) {
+            String base = "http://localhost:" + ctx.getEnvironment().getProperty("local.server.port");
+            long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+            AtomicLong errors = new AtomicLong();
+
+            // 부하 생성 쪽은 모드와 무관하게 가상 스레드 사용 (클라이언트 수가 병목이 되지 않도록)
+            List<Future<long[]>> futures = new ArrayList<>();
+            long started = System.nanoTime();
+            try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < clients; i++) {
+                    String email = mode + "-" + i + "@load";
+                    futures.add(pool.submit(() -> client(base, email, deadline, errors)));
+                }
+                List<long[]> all = new ArrayList<>();
+                for (Future<long[]> f : futures) all.add(f.get());
+                double elapsed = (System.nanoTime() - started) / 1e9;
+                long[] merged = all.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+                return new Result(mode, merged.length, errors.get(), elapsed, merged);
+            }
+        }
+    }
+
+    private static long[] client(String base, String email, long deadline, AtomicLong errors) throws Exception {
+        HttpClient http = HttpClient.newBuilder().cookieHandler(new CookieManager()).build();
+        String credentials = "{\"email\":\"" + email + "\",\"password\":\"load-test\"}";
+        send(http, post(base + "/api/auth/register", credentials));
+        long[] latencies = new long[1024];
+        int n = 0;
+        for (int i = 0; System.nanoTime() < deadline; i++) {
+            HttpRequest req = i % LOGIN_EVERY == 0
+                    ? post(base + "/api/auth/login", credentials)
+                    : HttpRequest.newBuilder(URI.create(base + "/api/reviews/today")).GET().build();
+            long t0 = System.nanoTime();
+            int status = send(http, req);
+            if (status >= 400) errors.incrementAndGet();
+            if (n == latencies.length) latencies = Arrays.copyOf(latencies, n * 2);
+            latencies[n++] = (System.nanoTime() - t0) / 1000;
+        }
+        return Arrays.copyOf(latencies, n);
+    }
+
+    private static HttpRequest post(String url, String json) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static int send(HttpClient http, HttpRequest req) {
+        try {
+            return http.send(req, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (Exception e) {
+            return 599;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.ctreview.bench;
+
+import com.example.ctreview.entity.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ReviewService.solve/fail 이 사용하는 일정 계산(정책별) 비용.
+ * 한 번 호출이 ns 단위라 Level.Invocation setup 은 쓰지 않는다(setup/타임스탬프 비용이 측정값을 덮는다).
+ * 대신 매 호출 새 문제를 만들어 처리하고, 만들기만 하는 create 를 기준값으로 함께 잰다 (solve - create = 정책 비용).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SchedulingBenchmark {
+
+    @Param({"FIXED", "ADAPTIVE"})
+    public SchedulingMode mode;
+
+    private ReviewPolicy policy;
+    private final LocalDateTime now = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        policy = mode == SchedulingMode.ADAPTIVE ? new AdaptiveReviewPolicy() : new DifficultyReviewPolicy();
+    }
+
+    private Problem newProblem() {
+        Problem problem = new Problem();
+        problem.setName("p");
+        problem.setDifficulty(ProblemDifficulty.HIGH);
+        problem.setReviewStep(1);
+        problem.setReviewCount(0);
+        problem.setStatus(ProblemStatus.ACTIVE);
+        policy.onCreate(problem, now);
+        return problem;
+    }
+
+    @Benchmark
+    public Problem create() {
+        return newProblem();
+    }
+
+    @Benchmark
+    public Problem solve() {
+        Problem problem = newProblem();
+        policy.onSolve(problem, now);
+        return problem;
+    }
+
+    @Benchmark
+    public Problem fail() {
+        Problem problem = newProblem();
+        policy.onFail(problem, now);
+        return problem;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.ctreview.bench;
+
+import com.example.ctreview.dto.ProblemPageDto;
+import com.example.ctreview.dto.ProblemSearchRequest;
+import com.example.ctreview.entity.ProblemDifficulty;
+import com.example.ctreview.entity.User;
+import com.example.ctreview.service.ProblemSearchService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProblemQueryController.search 경로(필터/정렬/페이지네이션) 비용을 문제 수별로 측정한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int problems;
+
+    private ConfigurableApplicationContext ctx;
+    private ProblemSearchService searchService;
+    private User user;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ctx = BenchContext.start();
+        user = BenchContext.createUser(ctx, "search@bench");
+        BenchContext.seedProblems(ctx, user, problems);
+        searchService = ctx.getBean(ProblemSearchService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ctx.close();
+    }
+
+    @Benchmark
+    public ProblemPageDto firstPageByDate() {
+        return searchService.search(user, new ProblemSearchRequest(null, null, null, null, null, null, "dateAsc", null, null));
+    }
+
+    @Benchmark
+    public ProblemPageDto nameAndDifficultyFilter() {
+        return searchService.search(user, new ProblemSearchRequest(null, "problem-9", ProblemDifficulty.HIGH, null, null, null, "stepDesc", null, null));
+    }
+}
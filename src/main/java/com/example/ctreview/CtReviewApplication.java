@@ -1,5 +1,6 @@
 package com.example.ctreview;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
@@ -23,8 +24,8 @@ public class CtReviewApplication {
         }
 
         @Bean
-        public PasswordEncoder passwordEncoder() {
-                return new BCryptPasswordEncoder();
+        public PasswordEncoder passwordEncoder(@Value("${ctreview.password.bcrypt-cost:10}") int cost) {
+                return new BCryptPasswordEncoder(cost);
         }
 
 }
@@ -1,13 +1,18 @@
 package com.example.ctreview.Handler;
 
+import com.example.ctreview.service.IdempotencyCache;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import jakarta.servlet.http.HttpServletResponse;
+
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionException;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -31,4 +36,29 @@ public class GlobalExceptionHandler {
         log.debug("BadRequest: {}", msg);
         return Map.of("error", "BAD_REQUEST", "message", msg);
     }
+
+    // 재시도 후에도 다른 요청과 동시 수정 충돌
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public Map<String, Object> handleConflict(Exception e) {
+        log.debug("Conflict: {}", e.getMessage());
+        return Map.of("error", "CONFLICT", "message", "다른 요청과 동시에 처리되었습니다. 다시 시도해 주세요.");
+    }
+
+    // 같은 Idempotency-Key 를 다른 요청 내용으로 재사용
+    @ExceptionHandler(IdempotencyCache.KeyReusedException.class)
+    @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+    public Map<String, Object> handleKeyReused(Exception e) {
+        log.debug("KeyReused: {}", e.getMessage());
+        return Map.of("error", "UNPROCESSABLE_ENTITY", "message", e.getMessage());
+    }
+
+    // 비밀번호 해시 실행기 포화 등: 잠시 후 재시도 안내
+    @ExceptionHandler(RejectedExecutionException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public Map<String, Object> handleBusy(Exception e, HttpServletResponse response) {
+        log.debug("Busy: {}", e.getMessage());
+        response.setHeader("Retry-After", "1");
+        return Map.of("error", "SERVICE_UNAVAILABLE", "message", "요청이 많습니다. 잠시 후 다시 시도해 주세요.");
+    }
 }
@@ -0,0 +1,61 @@
+package com.example.ctreview.config;
+
+import com.example.ctreview.entity.User;
+import com.example.ctreview.service.AuthService;
+import com.example.ctreview.service.DataVersionService;
+import com.example.ctreview.service.ReviewService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.zip.CRC32;
+
+/**
+ * 로그인 사용자의 조회 API 에 사용자 데이터 버전 기반 strong ETag 를 붙이고,
+ * If-None-Match 가 같으면 핸들러 실행(쿼리) 없이 304 로 응답한다.
+ * 시간에 따라 달라지는 응답은 버전 외 값도 섞는다: 오늘 목록은 현재 복습 대상 수, 대시보드는 오늘 날짜.
+ */
+@RequiredArgsConstructor
+public class ETagInterceptor implements HandlerInterceptor {
+
+    private final AuthService authService;
+    private final DataVersionService dataVersions;
+    private final ReviewService reviewService;
+    private final Clock clock;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod())) return true;
+        HttpSession session = request.getSession(false);
+        User user = session != null ? authService.getCurrentUser(session) : null;
+        if (user == null) return true; // 비로그인 세션 데이터는 캐시하지 않음
+
+        String etag = "\"" + dataVersions.current(user.getId()) + variant(request, user) + "\"";
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache, private");
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+
+    private String variant(HttpServletRequest request, User user) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return switch (path) {
+            case "/api/reviews/today" -> "-d" + reviewService.countToday(user);
+            case "/api/dashboard/summary" -> "-" + LocalDate.now(clock);
+            case "/api/problems", "/api/dashboard/graduated" -> "-q" + queryHash(request.getQueryString());
+            default -> "";
+        };
+    }
+
+    private static String queryHash(String query) {
+        if (query == null) return "0";
+        CRC32 crc = new CRC32();
+        crc.update(query.getBytes(StandardCharsets.UTF_8));
+        return Long.toString(crc.getValue(), 36);
+    }
+}
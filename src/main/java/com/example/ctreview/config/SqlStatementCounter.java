@@ -0,0 +1,34 @@
+package com.example.ctreview.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate 가 실행하는 SQL 문 수를 스레드(요청) 단위로 센다.
+ * begin() 이후 실행된 문 수를 count() 로 조회하고 end() 로 정리한다.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNTER = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] c = COUNTER.get();
+        if (c != null) c[0]++;
+        return sql;
+    }
+
+    public static void begin() {
+        COUNTER.set(new int[1]);
+    }
+
+    public static int count() {
+        int[] c = COUNTER.get();
+        return c == null ? 0 : c[0];
+    }
+
+    public static int end() {
+        int n = count();
+        COUNTER.remove();
+        return n;
+    }
+}
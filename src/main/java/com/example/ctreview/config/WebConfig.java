@@ -1,12 +1,29 @@
 package com.example.ctreview.config;
 
+import com.example.ctreview.service.AuthService;
+import com.example.ctreview.service.DataVersionService;
+import com.example.ctreview.service.NodeLocalCaches;
+import com.example.ctreview.service.ReviewService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    private final MeterRegistry meterRegistry;
+    private final AuthService authService;
+    private final DataVersionService dataVersions;
+    private final ReviewService reviewService;
+    private final NodeLocalCaches nodeLocalCaches;
+    private final Clock clock;
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**") // 모든 경로에 대해 CORS 허용
@@ -15,4 +32,15 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedHeaders("*") // 허용할 헤더
                 .allowCredentials(true); // 쿠키 허용 여부
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new SqlStatementMetricsInterceptor(meterRegistry)).addPathPatterns("/api/**");
+        // 데이터 버전이 이 노드의 변경만 알므로 단일 노드에서만 (다중 노드면 다른 노드 쓰기 후에도 304 가 나간다)
+        if (nodeLocalCaches.enabled()) {
+            registry.addInterceptor(new ETagInterceptor(authService, dataVersions, reviewService, clock))
+                    .addPathPatterns("/api/reviews/today", "/api/problems/active", "/api/problems",
+                            "/api/dashboard/summary", "/api/dashboard/graduated");
+        }
+    }
 }
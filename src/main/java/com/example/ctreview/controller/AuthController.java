@@ -1,16 +1,25 @@
 package com.example.ctreview.controller;
 
+import com.example.ctreview.dto.SessionMigrationResultDto;
+import com.example.ctreview.entity.SchedulingMode;
 import com.example.ctreview.entity.User;
 import com.example.ctreview.repository.UserRepository;
+import com.example.ctreview.service.AuthService;
+import com.example.ctreview.service.PasswordHashingService;
+import com.example.ctreview.service.ReviewService;
+import com.example.ctreview.service.SessionMigrationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.servlet.http.HttpSession;
+import java.util.NoSuchElementException;
 
 record LoginRequest(String email, String password) {}
-record UserDto(String email) { static UserDto from(User u){ return new UserDto(u.getEmail()); } }
+record UserDto(String email, SchedulingMode schedulingMode, SessionMigrationResultDto migration) {
+    static UserDto from(User u){ return from(u, null); }
+    static UserDto from(User u, SessionMigrationResultDto migration){ return new UserDto(u.getEmail(), u.effectiveSchedulingMode(), migration); }
+}
 
 @RestController
 @RequestMapping("/api/auth")
@@ -18,17 +27,21 @@ record UserDto(String email) { static UserDto from(User u){ return new UserDto(u
 @Slf4j
 public class AuthController {
     private final UserRepository userRepo;
-    private final PasswordEncoder encoder;
+    private final PasswordHashingService passwords;
+    private final AuthService authService;
+    private final SessionMigrationService sessionMigrationService;
+    private final ReviewService reviewService;
 
     @PostMapping("/register")
-    public void register(@RequestBody LoginRequest req){
+    public SessionMigrationResultDto register(@RequestBody LoginRequest req, HttpSession session){
         log.debug("Register attempt email={}", req.email());
         if(userRepo.existsByEmail(req.email())) throw new IllegalStateException("이미 존재하는 이메일");
         User u = new User();
         u.setEmail(req.email());
-        u.setPasswordHash(encoder.encode(req.password()));
+        u.setPasswordHash(passwords.encode(req.password()));
         userRepo.save(u);
         log.debug("Register success id={} email={}", u.getId(), u.getEmail());
+        return sessionMigrationService.migrate(session, u); // 가입 전 세션에서 풀던 문제를 새 계정으로
     }
 
     @PostMapping("/login")
@@ -36,27 +49,52 @@ public class AuthController {
         log.debug("Login attempt email={}", req.email());
         User u = userRepo.findByEmail(req.email())
                 .orElseThrow(() -> new IllegalStateException("이메일 미존재"));
-        if(!encoder.matches(req.password(), u.getPasswordHash())) {
+        if(!passwords.matches(req.password(), u.getPasswordHash())) {
             log.debug("Login failed password mismatch for email={}", req.email());
             throw new IllegalStateException("비밀번호 불일치");
         }
+        if(passwords.needsRehash(u.getPasswordHash())) {
+            // bcrypt cost 설정이 바뀐 경우: 평문을 알고 있는 지금 새 cost 로 재해시
+            log.debug("Rehash password id={}", u.getId());
+            u.setPasswordHash(passwords.encode(req.password()));
+            u = userRepo.save(u);
+        }
         session.setAttribute("uid", u.getId());
-        log.debug("Login success id={} email={}", u.getId(), u.getEmail());
-        return UserDto.from(u);
+        authService.cache(u);
+        var migration = sessionMigrationService.migrate(session, u);
+        log.debug("Login success id={} email={} migrated={}", u.getId(), u.getEmail(), migration.migrated());
+        return UserDto.from(u, migration);
     }
 
     @PostMapping("/logout")
     public void logout(HttpSession session){
         Long id = (Long) session.getAttribute("uid");
         log.debug("Logout uid={}", id);
+        authService.invalidate(id);
         session.invalidate();
     }
 
     @GetMapping("/me")
     public UserDto me(HttpSession session){
-        Long id = (Long) session.getAttribute("uid");
-        log.debug("Me uid={}", id);
-        if(id == null) return null;
-        return userRepo.findById(id).map(UserDto::from).orElse(null);
+        log.debug("Me uid={}", session.getAttribute("uid"));
+        User u = authService.getCurrentUser(session);
+        return u == null ? null : UserDto.from(u);
+    }
+
+    @PutMapping("/scheduling")
+    public UserDto scheduling(@RequestParam SchedulingMode mode, HttpSession session){
+        User u = authService.getCurrentUser(session);
+        log.debug("Scheduling mode uid={} mode={}", u != null ? u.getId() : null, mode);
+        if(u == null) throw new IllegalStateException("로그인이 필요합니다.");
+        // 캐시 사본이 아니라 DB 에서 새로 읽은 엔티티를 바꾼다
+        User fresh = userRepo.findById(u.getId())
+                .orElseThrow(() -> new NoSuchElementException("사용자 미존재"));
+        if (mode == SchedulingMode.ADAPTIVE && fresh.effectiveSchedulingMode() != SchedulingMode.ADAPTIVE) {
+            reviewService.resetAdaptiveState(fresh); // 예전 적응형 상태로 이어 계산하지 않도록
+        }
+        fresh.setSchedulingMode(mode);
+        User saved = userRepo.save(fresh);
+        authService.invalidate(saved.getId()); // 계정 변경 → 캐시 제거
+        return UserDto.from(saved);
     }
 }
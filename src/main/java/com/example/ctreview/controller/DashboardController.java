@@ -2,19 +2,25 @@ package com.example.ctreview.controller;
 
 import com.example.ctreview.dto.DashboardSummaryDto;
 import com.example.ctreview.dto.ProblemDto;
+import com.example.ctreview.dto.ProblemPageDto;
+import com.example.ctreview.dto.ProblemSearchRequest;
 import com.example.ctreview.entity.*;
 import com.example.ctreview.repository.ProblemRepository;
-import com.example.ctreview.repository.ReviewLogRepository;
 import com.example.ctreview.service.AuthService;
+import com.example.ctreview.service.DailyActivityService;
+import com.example.ctreview.service.ProblemSearchService;
+import com.example.ctreview.service.ReviewMetrics;
 import com.example.ctreview.service.SessionReviewService;
+import com.example.ctreview.service.StreakService;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import jakarta.servlet.http.HttpSession;
-import java.util.Objects;
 
 import java.time.*;
 import java.util.*;
@@ -25,11 +31,14 @@ import java.util.stream.Collectors;
 @Slf4j
 public class DashboardController {
 
-    private final ReviewLogRepository logRepo;
+    private final DailyActivityService activityService;
     private final ProblemRepository problemRepo;
     private final Clock clock;
     private final AuthService authService;
     private final SessionReviewService sessionReviewService;
+    private final StreakService streakService;
+    private final ReviewMetrics metrics;
+    private final ProblemSearchService searchService;
 
     @GetMapping("/summary")
     public DashboardSummaryDto summary(HttpSession session) {
@@ -45,68 +54,49 @@ public class DashboardController {
             Map<String, Long> gradByDiff = problems.stream()
                     .filter(p -> p.getStatus() == ProblemStatus.GRADUATED)
                     .collect(Collectors.groupingBy(p -> p.getDifficulty().name(), Collectors.counting()));
-            var graduatedProblems = problems.stream()
-                    .filter(p -> p.getStatus() == ProblemStatus.GRADUATED)
-                    .map(ProblemDto::from)
-                    .toList();
             return DashboardSummaryDto.builder()
                     .today(today.toString())
                     .streak(0)
                     .daily(Collections.emptyList())
                     .stepDistribution(stepDist)
                     .graduationByDifficulty(gradByDiff)
-                    .graduatedProblems(graduatedProblems)
                     .heatmap(Collections.emptyList())
                     .build();
         }
 
         LocalDate from = today.minusDays(29);
+        Timer.Sample phase = metrics.start();
 
-        int streak = 0;
-        LocalDate d = today;
-        while (true) {
-            var logs = logRepo.findByActionDateBetween(d, d).stream()
-                    .filter(l -> Objects.equals(l.getProblem().getUser(), user))
-                    .toList();
-            if (logs.isEmpty()) break;
-            streak++;
-            d = d.minusDays(1);
+        // 사용자 일일 활동 롤업 한 번만 조회 (전체 ReviewLog 를 읽지 않음)
+        var activities = activityService.findAll(user);
+        phase = metrics.summaryPhase(phase, "activity");
+        Map<LocalDate, Long> activityMap = new HashMap<>();
+        for (DailyActivity a : activities) {
+            activityMap.put(a.getActivityDate(), a.total());
         }
 
-        var recentLogs = logRepo.findByActionDateBetween(from, today).stream()
-                .filter(l -> Objects.equals(l.getProblem().getUser(), user))
-                .toList();
-        Map<LocalDate, Long> dailyMap = recentLogs.stream()
-                .collect(Collectors.groupingBy(l -> l.getActionDate(), Collectors.counting()));
+        int streak = streakService.currentStreak(user, today);
+        phase = metrics.summaryPhase(phase, "streak");
+
         List<DashboardSummaryDto.DailyPoint> daily = new ArrayList<>();
         for (int i = 0; i < 30; i++) {
             LocalDate day = from.plusDays(i);
-            daily.add(new DashboardSummaryDto.DailyPoint(day.toString(), dailyMap.getOrDefault(day, 0L)));
+            daily.add(new DashboardSummaryDto.DailyPoint(day.toString(), activityMap.getOrDefault(day, 0L)));
         }
 
-        Map<Integer, Long> stepDist = problemRepo.findByUserAndStatus(user, ProblemStatus.ACTIVE).stream()
-                .collect(Collectors.groupingBy(Problem::getReviewStep, Collectors.counting()));
-
-        var allLogs = logRepo.findAll().stream()
-                .filter(l -> Objects.equals(l.getProblem().getUser(), user))
-                .toList();
-        Map<LocalDate, Long> heatMap = allLogs.stream()
-                .collect(Collectors.groupingBy(ReviewLog::getActionDate, Collectors.counting()));
-        LocalDate heatFrom = allLogs.stream()
-                .map(ReviewLog::getActionDate)
-                .min(LocalDate::compareTo)
-                .orElse(today);
+        Map<Integer, Long> stepDist = problemRepo.countByStep(user, ProblemStatus.ACTIVE).stream()
+                .collect(Collectors.toMap(ProblemRepository.StepCount::getStep, ProblemRepository.StepCount::getCount));
 
-        Map<String, Long> gradByDiff = problemRepo.findByUserAndStatus(user, ProblemStatus.GRADUATED).stream()
-                .collect(Collectors.groupingBy(p -> p.getDifficulty().name(), Collectors.counting()));
+        LocalDate heatFrom = activities.isEmpty() ? today : activities.get(0).getActivityDate();
 
-        var graduatedProblems = problemRepo.findByUserAndStatus(user, ProblemStatus.GRADUATED).stream()
-                .map(ProblemDto::from)
-                .toList();
+        Map<String, Long> gradByDiff = problemRepo.countByDifficulty(user, ProblemStatus.GRADUATED).stream()
+                .collect(Collectors.toMap(c -> c.getDifficulty().name(), ProblemRepository.DifficultyCount::getCount));
+        phase = metrics.summaryPhase(phase, "problems");
         List<DashboardSummaryDto.DailyPoint> heat = new ArrayList<>();
         for (LocalDate day = heatFrom; !day.isAfter(today); day = day.plusDays(1)) {
-            heat.add(new DashboardSummaryDto.DailyPoint(day.toString(), heatMap.getOrDefault(day, 0L)));
+            heat.add(new DashboardSummaryDto.DailyPoint(day.toString(), activityMap.getOrDefault(day, 0L)));
         }
+        metrics.summaryPhase(phase, "heatmap");
 
         return DashboardSummaryDto.builder()
                 .today(today.toString())
@@ -114,9 +104,28 @@ public class DashboardController {
                 .daily(daily)
                 .stepDistribution(stepDist)
                 .graduationByDifficulty(gradByDiff)
-                .graduatedProblems(graduatedProblems)
                 .heatmap(heat)
                 .build();
     }
-}
 
+    /**
+     * 졸업한 문제 목록 (최근 등록 순, 키셋 커서 페이지). 대시보드에서 필요할 때만 불러온다.
+     */
+    @GetMapping("/graduated")
+    public ProblemPageDto graduated(@RequestParam(required = false) String cursor,
+                                    @RequestParam(required = false) Integer size,
+                                    HttpSession session) {
+        User user = authService.getCurrentUser(session);
+        log.debug("Dashboard graduated for user id={} cursor={}", user != null ? user.getId() : null, cursor);
+        if (user == null) {
+            // 세션 문제는 개수 제한이 있으므로 한 번에
+            var items = sessionReviewService.listAll(session).stream()
+                    .filter(p -> p.getStatus() == ProblemStatus.GRADUATED)
+                    .map(ProblemDto::from)
+                    .toList();
+            return ProblemPageDto.builder().items(items).build();
+        }
+        return searchService.search(user, new ProblemSearchRequest(
+                null, null, null, ProblemStatus.GRADUATED, null, null, "dateDesc", cursor, size));
+    }
+}
@@ -1,21 +1,36 @@
 package com.example.ctreview.controller;
 
 import com.example.ctreview.dto.ActionResultDto;
+import com.example.ctreview.dto.ImportResultDto;
 import com.example.ctreview.dto.ProblemCreateRequest;
 import com.example.ctreview.dto.ProblemDto;
+import com.example.ctreview.dto.ReviewBatchRequest;
+import com.example.ctreview.dto.ReviewBatchResultDto;
 import com.example.ctreview.entity.Problem;
 import com.example.ctreview.entity.User;
 import com.example.ctreview.service.AuthService;
+import com.example.ctreview.service.IdempotencyCache;
+import com.example.ctreview.service.OptimisticRetry;
+import com.example.ctreview.service.ProblemImportService;
 import com.example.ctreview.service.ReviewService;
+import com.example.ctreview.service.ReviewStreamService;
 import com.example.ctreview.service.SessionReviewService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.List;
 
 @RestController
@@ -27,12 +42,26 @@ public class ProblemController {
     private final ReviewService reviewService;
     private final AuthService authService;
     private final SessionReviewService sessionReviewService;
+    private final ProblemImportService importService;
+    private final ReviewStreamService streamService;
+    private final OptimisticRetry retry;
+    private final IdempotencyCache idempotency;
+
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    // 멱등 키 범위: 사용자(비로그인은 세션) + 액션
+    private static String scope(HttpSession session, User user, String action) {
+        return (user != null ? "u" + user.getId() : "s" + session.getId()) + ":" + action;
+    }
 
     @PostMapping("/problems")
     public ProblemDto create(HttpSession session, @Valid @RequestBody ProblemCreateRequest req) {
         User user = authService.getCurrentUser(session);
         log.debug("Create problem userId={} number={} name={}", user != null ? user.getId() : null, req.number(), req.name());
 
+        if (user == null) {
+            return ProblemDto.from(sessionReviewService.create(session, req.number(), req.name(), req.category(), req.difficulty()));
+        }
         return ProblemDto.from(reviewService.createProblem(user, req.number(), req.name(), req.category(), req.difficulty()));
     }
 
@@ -41,47 +70,109 @@ public class ProblemController {
         User user = authService.getCurrentUser(session);
         log.debug("List today problems userId={}", user != null ? user.getId() : null);
 
-        return reviewService.listToday(user).stream().map(ProblemDto::from).toList();
+        if (user == null) return sessionReviewService.listToday(session).stream().map(ProblemDto::from).toList();
+        return reviewService.listToday(user);
 
     }
 
+    // 복습 대상 알림 스트림 ("due", "today-changed" 이벤트). 폴링 대신 사용
+    @GetMapping(value = "/reviews/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(HttpSession session) {
+        User user = authService.getCurrentUser(session);
+        log.debug("Open review stream userId={}", user != null ? user.getId() : null);
+        if (user == null) throw new IllegalStateException("로그인이 필요합니다.");
+        return streamService.subscribe(user);
+    }
+
     @GetMapping("/problems/active")
     public List<ProblemDto> allActive(HttpSession session) {
         User user = authService.getCurrentUser(session);
         log.debug("List active problems userId={}", user != null ? user.getId() : null);
 
-        return reviewService.listAllActiveOrderByDate(user).stream().map(ProblemDto::from).toList();
+        if (user == null) return sessionReviewService.listAllActiveOrderByDate(session).stream().map(ProblemDto::from).toList();
+        return reviewService.listAllActiveOrderByDate(user);
 
     }
 
     @PostMapping("/problems/solve")
-    public ActionResultDto solve(HttpSession session, @RequestParam String name) {
+    public ActionResultDto solve(HttpSession session, @RequestParam String name,
+                                 @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
         User user = authService.getCurrentUser(session);
         log.debug("Solve problem userId={} name={}", user != null ? user.getId() : null, name);
 
-        Problem p = reviewService.solve(user, name);
-
-        return ActionResultDto.of("SOLVE 완료", ProblemDto.from(p));
+        return idempotency.execute(scope(session, user, "solve"), idempotencyKey, name, () -> {
+            Problem p = user == null
+                    ? sessionReviewService.solve(session, name)
+                    : retry.run("solve", () -> reviewService.solve(user, name));
+            return ActionResultDto.of("SOLVE 완료", ProblemDto.from(p));
+        });
     }
 
     @PostMapping("/problems/fail")
-    public ActionResultDto fail(HttpSession session, @RequestParam String name) {
+    public ActionResultDto fail(HttpSession session, @RequestParam String name,
+                                 @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
         User user = authService.getCurrentUser(session);
         log.debug("Fail problem userId={} name={}", user != null ? user.getId() : null, name);
 
-        Problem p = reviewService.fail(user, name);
-
-        return ActionResultDto.of("FAIL 처리", ProblemDto.from(p));
+        return idempotency.execute(scope(session, user, "fail"), idempotencyKey, name, () -> {
+            Problem p = user == null
+                    ? sessionReviewService.fail(session, name)
+                    : retry.run("fail", () -> reviewService.fail(user, name));
+            return ActionResultDto.of("FAIL 처리", ProblemDto.from(p));
+        });
     }
 
     @PostMapping("/problems/graduate")
-    public ActionResultDto graduate(HttpSession session, @RequestParam String name) {
+    public ActionResultDto graduate(HttpSession session, @RequestParam String name,
+                                 @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
         User user = authService.getCurrentUser(session);
         log.debug("Graduate problem userId={} name={}", user != null ? user.getId() : null, name);
 
-        Problem p = reviewService.graduate(user, name);
+        return idempotency.execute(scope(session, user, "graduate"), idempotencyKey, name, () -> {
+            Problem p = user == null
+                    ? sessionReviewService.graduate(session, name)
+                    : retry.run("graduate", () -> reviewService.graduate(user, name));
+            return ActionResultDto.of("GRADUATE", ProblemDto.from(p));
+        });
+    }
+
+    @PostMapping("/problems/batch")
+    public ReviewBatchResultDto batch(HttpSession session, @Valid @RequestBody ReviewBatchRequest req,
+                                      @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        User user = authService.getCurrentUser(session);
+        log.debug("Batch review userId={} size={}", user != null ? user.getId() : null, req.items().size());
+
+        return idempotency.execute(scope(session, user, "batch"), idempotencyKey, fingerprint(req.items()),
+                () -> user == null
+                        ? sessionReviewService.applyBatch(session, req.items())
+                        : retry.run("batch", () -> reviewService.applyBatch(user, req.items())));
+    }
+
+    // 멱등 키 재사용 판별용 항목 다이제스트 (hashCode 는 충돌 시 다른 배치의 결과를 재생할 수 있음)
+    private static String fingerprint(List<ReviewBatchRequest.Item> items) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            for (var item : items) {
+                md.update(item.name().getBytes(StandardCharsets.UTF_8));
+                md.update((byte) 0);
+                md.update(item.action().name().getBytes(StandardCharsets.UTF_8));
+                md.update((byte) '\n');
+            }
+            return HexFormat.of().formatHex(md.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @PostMapping(value = "/problems/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ImportResultDto importProblems(HttpSession session, HttpServletRequest request) throws IOException {
+        User user = authService.getCurrentUser(session);
+        log.debug("Import problems userId={} contentType={}", user != null ? user.getId() : null, request.getContentType());
+        if (user == null) throw new IllegalStateException("로그인이 필요합니다.");
 
-        return ActionResultDto.of("GRADUATE", ProblemDto.from(p));
+        var format = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? ProblemImportService.Format.CSV : ProblemImportService.Format.NDJSON;
+        return importService.importProblems(user, request.getInputStream(), format);
     }
 
     @DeleteMapping("/problems")
@@ -92,6 +183,13 @@ public class ProblemController {
         User user = authService.getCurrentUser(session);
         log.debug("Delete problem userId={} number={} name={}", user != null ? user.getId() : null, number, name);
 
+        if (user == null) {
+            Problem p = (name != null && !name.isBlank())
+                    ? sessionReviewService.getByNameOrThrow(session, name)
+                    : sessionReviewService.getByNumberOrThrow(session, number);
+            sessionReviewService.delete(session, p.getName());
+            return;
+        }
         Problem p = (name != null && !name.isBlank())
                 ? reviewService.getByNameOrThrow(user, name)
                 : reviewService.getByNumberOrThrow(user, number);
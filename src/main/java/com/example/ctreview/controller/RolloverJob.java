@@ -4,34 +4,174 @@ import com.example.ctreview.entity.Problem;
 import com.example.ctreview.entity.ProblemStatus;
 import com.example.ctreview.repository.ProblemRepository;
 import com.example.ctreview.entity.ReviewPolicy;
-import jakarta.transaction.Transactional;
+import com.example.ctreview.repository.UserRepository;
+import com.example.ctreview.service.DueQueueCache;
+import com.example.ctreview.service.JobLockService;
+import com.example.ctreview.service.ReviewMetrics;
+import com.example.ctreview.service.RolloverService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.*;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 
+/**
+ * 밀린 복습일을 오늘 기준으로 밀어주는 작업.
+ * GLOBAL 모드: id 키셋으로 청크 단위 조회/갱신하며 청크마다 별도 트랜잭션으로 커밋한다.
+ * 이미 처리된 행은 조회 조건(1단위 이상 밀림)에서 빠지므로 중간에 끊겨도 다시 실행하면 남은 행만 처리된다.
+ * LAZY 모드: 최근 활동 사용자만 작은 배치로 미리 롤오버한다 (나머지는 접근 시 RolloverService 가 처리).
+ * 여러 노드에서는 사용자 id 해시로 나눈 파티션마다 job_locks 잠금을 잡은 노드만 그 파티션을 처리한다.
+ */
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class RolloverJob {
+    static final String LOCK_PREFIX = "rollover-";
 
     private final ProblemRepository problemRepo;
     private final Clock clock;
     private final ReviewPolicy reviewPolicy;
+    private final TransactionTemplate tx;
+    private final DueQueueCache dueQueue;
+    private final ReviewMetrics metrics;
+    private final RolloverService rolloverService;
+    private final UserRepository userRepo;
+    private final JobLockService jobLocks;
 
-    @Transactional
+    @Value("${ctreview.rollover.chunk-size:500}")
+    private int chunkSize = 500;
+
+    @Value("${ctreview.rollover.active-days:7}")
+    private int activeDays = 7;
+
+    @Value("${ctreview.rollover.sweep-batch-size:50}")
+    private int sweepBatchSize = 50;
+
+    @Value("${ctreview.rollover.sweep-pause:PT0.2S}")
+    private Duration sweepPause = Duration.ofMillis(200);
+
+    @Value("${ctreview.rollover.partitions:1}")
+    private int partitions = 1;
+
+    @Value("${ctreview.rollover.lock-lease:PT10M}")
+    private Duration lockLease = Duration.ofMinutes(10);
+
+    @Value("${ctreview.rollover.lock-min-hold:PT1M}")
+    private Duration lockMinHold = Duration.ofMinutes(1);
+
+    public record RolloverResult(int rows, int chunks, Duration elapsed) {
+        static final RolloverResult EMPTY = new RolloverResult(0, 0, Duration.ZERO);
+
+        RolloverResult plus(RolloverResult o) {
+            return new RolloverResult(rows + o.rows, chunks + o.chunks, elapsed.plus(o.elapsed));
+        }
+    }
+
+    private record Chunk(int size, long lastId) {}
+
+    /**
+     * 잠금을 잡은 파티션만 처리하고 이 노드가 처리한 결과의 합을 돌려준다.
+     */
     @Scheduled(cron = "0 5 0 * * *", zone = "Asia/Seoul") // 매일 00:05 KST
-    public void rolloverOverdue() {
+    public RolloverResult rolloverOverdue() {
+        RolloverResult total = RolloverResult.EMPTY;
+        for (int partition = 0; partition < partitions; partition++) {
+            String lock = LOCK_PREFIX + partition;
+            if (!jobLocks.tryLock(lock, lockLease)) {
+                log.debug("rollover partition={} locked by another node", partition);
+                continue;
+            }
+            try {
+                total = total.plus(rolloverService.mode() == RolloverService.Mode.LAZY
+                        ? sweepActive(partition, lock)
+                        : run(partition, lock));
+            } finally {
+                jobLocks.unlock(lock, lockMinHold);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * LAZY 모드: activeDays 안에 활동한 사용자 중 오늘 아직 롤오버되지 않은 사용자만 배치 단위로 처리한다.
+     * 배치 사이에 잠시 쉬어 DB 쓰기를 분산한다.
+     */
+    private RolloverResult sweepActive(int partition, String lock) {
+        long started = System.nanoTime();
+        LocalDate today = LocalDate.now(clock);
+        LocalDate since = today.minusDays(activeDays);
+
+        int rows = 0, batches = 0;
+        long lastId = 0;
+        while (true) {
+            List<Long> ids = userRepo.findRecentlyActiveNotRolled(since, today, lastId, partitions, partition, PageRequest.of(0, sweepBatchSize));
+            if (ids.isEmpty()) break;
+            for (Long id : ids) {
+                rows += Math.max(0, rolloverService.rollUser(id, today));
+            }
+            batches++;
+            lastId = ids.get(ids.size() - 1);
+            log.debug("rollover sweep partition={} batch={} users={} lastId={}", partition, batches, ids.size(), lastId);
+            if (ids.size() < sweepBatchSize || lostLock(lock)) break;
+            try {
+                Thread.sleep(sweepPause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        var result = new RolloverResult(rows, batches, Duration.ofNanos(System.nanoTime() - started));
+        metrics.rollover(result.rows(), result.elapsed());
+        log.info("rollover sweep finished partition={} rows={} batches={} elapsedMs={}", partition, result.rows(), result.chunks(), result.elapsed().toMillis());
+        return result;
+    }
+
+    private RolloverResult run(int partition, String lock) {
+        long started = System.nanoTime();
         LocalDateTime now = LocalDateTime.now(clock);
-        List<Problem> overdue = problemRepo.findByStatusAndNextReviewDateBefore(ProblemStatus.ACTIVE, now);
         ChronoUnit unit = reviewPolicy.unit();
+        LocalDateTime cutoff = now.minus(1, unit);
+
+        int rows = 0, chunks = 0;
+        long lastId = 0;
+        while (true) {
+            final long afterId = lastId;
+            Chunk chunk = tx.execute(status -> shiftChunk(now, cutoff, unit, afterId, partition));
+            if (chunk == null || chunk.size() == 0) break;
+            rows += chunk.size();
+            chunks++;
+            lastId = chunk.lastId();
+            log.debug("rollover partition={} chunk={} rows={} lastId={}", partition, chunks, chunk.size(), lastId);
+            if (chunk.size() < chunkSize || lostLock(lock)) break;
+        }
+
+        var result = new RolloverResult(rows, chunks, Duration.ofNanos(System.nanoTime() - started));
+        metrics.rollover(result.rows(), result.elapsed());
+        log.info("rollover finished partition={} rows={} chunks={} elapsedMs={}", partition, result.rows(), result.chunks(), result.elapsed().toMillis());
+        return result;
+    }
+
+    // 청크 사이마다 lease 연장. 다른 노드로 넘어갔으면 중단 (남은 행은 그 노드/다음 실행이 처리)
+    private boolean lostLock(String lock) {
+        if (jobLocks.renew(lock, lockLease)) return false;
+        log.warn("rollover lock lost lock={}", lock);
+        return true;
+    }
+
+    private Chunk shiftChunk(LocalDateTime now, LocalDateTime cutoff, ChronoUnit unit, long afterId, int partition) {
+        List<Problem> overdue = problemRepo.findOverdueChunk(ProblemStatus.ACTIVE, cutoff, afterId, partitions, partition, PageRequest.of(0, chunkSize));
         for (Problem p : overdue) {
-            long missed = unit.between(p.getNextReviewDate(), now);
-            if (missed > 0) {
-                p.setNextReviewDate(p.getNextReviewDate().plus(missed, unit));
+            if (RolloverService.shift(p, now, unit)) {
+                dueQueue.update(p.getUser() != null ? p.getUser().getId() : null, p);
             }
         }
+        return new Chunk(overdue.size(), overdue.isEmpty() ? afterId : overdue.get(overdue.size() - 1).getId());
     }
-}
\ No newline at end of file
+}
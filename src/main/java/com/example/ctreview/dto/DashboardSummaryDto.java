@@ -10,8 +10,7 @@ public record DashboardSummaryDto(
         int streak,
         List<DailyPoint> daily,
         Map<Integer, Long> stepDistribution,
-        Map<String, Long> graduationByDifficulty,
-        List<ProblemDto> graduatedProblems,
+        Map<String, Long> graduationByDifficulty, // 졸업 문제 목록은 /api/dashboard/graduated 에서 페이지 단위로
         List<DailyPoint> heatmap
 ) {
     @Builder
@@ -0,0 +1,13 @@
+package com.example.ctreview.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record ImportResultDto(
+        int imported,
+        int skipped,       // 이미 존재하거나 파일 안에서 중복된 이름
+        List<String> errors // 파싱/검증 실패 줄 (최대 100건)
+) {
+}
@@ -1,6 +1,9 @@
 package com.example.ctreview.dto;
 
 import com.example.ctreview.entity.Problem;
+import com.example.ctreview.entity.ProblemCategory;
+import com.example.ctreview.entity.ProblemDifficulty;
+import com.example.ctreview.entity.ProblemStatus;
 import lombok.Builder;
 
 import java.time.LocalDateTime;
@@ -10,6 +13,13 @@ public record ProblemDto(
         String difficulty,
         int reviewStep, int reviewCount, LocalDateTime nextReviewDate, String status
 ) {
+    // JPQL 생성자 프로젝션용 (enum 컬럼을 그대로 받는다)
+    public ProblemDto(Integer number, String name, ProblemCategory category, ProblemDifficulty difficulty,
+                      int reviewStep, int reviewCount, LocalDateTime nextReviewDate, ProblemStatus status) {
+        this(number, name, category == null ? null : category.name(), difficulty.name(),
+                reviewStep, reviewCount, nextReviewDate, status.name());
+    }
+
     public static ProblemDto from(Problem p) {
         return ProblemDto.builder()
                 .number(p.getNumber()).name(p.getName())
@@ -0,0 +1,12 @@
+package com.example.ctreview.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record ProblemPageDto(
+        List<ProblemDto> items,
+        String nextCursor // 다음 페이지가 없으면 null
+) {
+}
@@ -13,5 +13,7 @@ public record ProblemSearchRequest(
         ProblemStatus status,          // ACTIVE/GRADUATED
         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
-        String sort                    // e.g., dateAsc, dateDesc, stepDesc
+        String sort,                   // e.g., dateAsc, dateDesc, stepDesc
+        String cursor,                 // 이전 페이지의 nextCursor
+        Integer size                   // 페이지 크기 (최대 100)
 ) {}
@@ -0,0 +1,17 @@
+package com.example.ctreview.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record ReviewBatchRequest(
+        @NotEmpty @Size(max = 200) List<@Valid Item> items
+) {
+    public enum Action { SOLVE, FAIL, GRADUATE }
+
+    public record Item(@NotBlank String name, @NotNull Action action) {}
+}
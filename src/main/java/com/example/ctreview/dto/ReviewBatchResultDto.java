@@ -0,0 +1,23 @@
+package com.example.ctreview.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record ReviewBatchResultDto(
+        int succeeded,
+        int failed,
+        List<ItemResult> results
+) {
+    @Builder
+    public record ItemResult(String name, ReviewBatchRequest.Action action, boolean ok, String message, ProblemDto problem) {
+        public static ItemResult ok(String name, ReviewBatchRequest.Action action, String message, ProblemDto dto) {
+            return new ItemResult(name, action, true, message, dto);
+        }
+
+        public static ItemResult error(String name, ReviewBatchRequest.Action action, String message) {
+            return new ItemResult(name, action, false, message, null);
+        }
+    }
+}
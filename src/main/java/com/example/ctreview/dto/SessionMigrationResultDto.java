@@ -0,0 +1,10 @@
+package com.example.ctreview.dto;
+
+import java.util.List;
+
+public record SessionMigrationResultDto(
+        int migrated,
+        List<String> skipped // 계정에 같은 이름이 이미 있어 옮기지 않은 문제
+) {
+    public static final SessionMigrationResultDto EMPTY = new SessionMigrationResultDto(0, List.of());
+}
@@ -0,0 +1,91 @@
+package com.example.ctreview.entity;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * SM-2 방식의 적응형 복습 정책.
+ * 문제에 저장된 ease(난이도 계수)와 현재 간격만으로 다음 간격을 계산하므로 처리 비용은 O(1) 이다.
+ * 이 두 값은 적응형 모드에서 처리할 때마다 문제에 덮어쓰는 현재 상태이며 ReviewLog 이력에서 다시 계산하지 않는다.
+ * 적응형 모드로 바꾸면 지워지고, 다음 처리 때 고정 정책의 현재 간격 위치에서 다시 시작한다 (ensureState).
+ */
+@Component
+public class AdaptiveReviewPolicy implements ReviewPolicy {
+    static final double MIN_EASE = 1.3;
+    static final double SOLVE_EASE_BONUS = 0.1;
+    static final double FAIL_EASE_PENALTY = 0.2;
+    static final double FAIL_INTERVAL_FACTOR = 0.5;
+    static final int GRADUATE_AFTER_DAYS = 60; // 다음 간격이 이보다 길면 졸업
+
+    private final DifficultyReviewPolicy base = new DifficultyReviewPolicy();
+
+    @Override
+    public int[] intervals(ProblemDifficulty difficulty) {
+        return base.intervals(difficulty);
+    }
+
+    @Override
+    public int step(ProblemDifficulty difficulty, int index) {
+        return base.step(difficulty, index);
+    }
+
+    @Override
+    public ChronoUnit unit() {
+        return ChronoUnit.DAYS;
+    }
+
+    @Override
+    public void onCreate(Problem p, LocalDateTime now) {
+        p.setEaseFactor(initialEase(p.getDifficulty()));
+        p.setIntervalDays(intervals(p.getDifficulty())[0]);
+        schedule(p, now);
+    }
+
+    @Override
+    public void onSolve(Problem p, LocalDateTime now) {
+        ensureState(p);
+        p.setReviewCount(p.getReviewCount() + 1);
+        int next = (int) Math.round(p.getIntervalDays() * p.getEaseFactor());
+        p.setEaseFactor(p.getEaseFactor() + SOLVE_EASE_BONUS);
+        if (next > GRADUATE_AFTER_DAYS) {
+            p.graduate();
+            return;
+        }
+        p.setIntervalDays(Math.max(next, p.getIntervalDays() + 1));
+        schedule(p, now);
+    }
+
+    @Override
+    public void onFail(Problem p, LocalDateTime now) {
+        ensureState(p);
+        p.setEaseFactor(Math.max(MIN_EASE, p.getEaseFactor() - FAIL_EASE_PENALTY));
+        p.setIntervalDays(Math.max(1, (int) Math.round(p.getIntervalDays() * FAIL_INTERVAL_FACTOR)));
+        schedule(p, now);
+    }
+
+    private void schedule(Problem p, LocalDateTime now) {
+        p.setReviewStep(p.getIntervalDays() < 7 ? 1 : 2);
+        p.setNextReviewDate(now.plus(p.getIntervalDays(), unit()));
+        p.setStatus(ProblemStatus.ACTIVE);
+    }
+
+    // 고정 정책으로 만들어진 문제는 현재 간격 인덱스로 상태를 초기화한다
+    private void ensureState(Problem p) {
+        if (p.getEaseFactor() == null) p.setEaseFactor(initialEase(p.getDifficulty()));
+        if (p.getIntervalDays() == null) {
+            int[] intervals = intervals(p.getDifficulty());
+            p.setIntervalDays(intervals[Math.min(p.getReviewCount(), intervals.length - 1)]);
+        }
+    }
+
+    // 어려운 문제일수록 간격이 천천히 늘어난다
+    static double initialEase(ProblemDifficulty difficulty) {
+        return switch (difficulty) {
+            case HIGH -> 1.8;
+            case MEDIUM -> 2.2;
+            case LOW -> 2.5;
+        };
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.ctreview.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * 사용자별 일일 활동 집계(롤업).
+ * ReviewLog 가 기록될 때마다 증분 갱신되며, 대시보드의 일별 그래프/히트맵/연속일 계산에 사용된다.
+ */
+@Entity
+@Table(name = "daily_activity", uniqueConstraints = {
+        // 사용자당 하루 1행
+        @UniqueConstraint(name = "ux_activity_user_date", columnNames = {"user_id", "activity_date"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyActivity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @Column(name = "activity_date", nullable = false)
+    private LocalDate activityDate; // KST 기준
+
+    @Column(nullable = false) private int solveCount;
+    @Column(nullable = false) private int failCount;
+
+    public long total() {
+        return (long) solveCount + failCount;
+    }
+}
@@ -1,13 +1,15 @@
 package com.example.ctreview.entity;
 
+import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
 
 import java.time.temporal.ChronoUnit;
 
 /**
- * 난이도 기반으로 고정된 복습 간격과 단계를 제공하는 정책.
+ * 난이도 기반으로 고정된 복습 간격과 단계를 제공하는 정책. (기본 정책)
  */
 @Component
+@Primary
 public class DifficultyReviewPolicy implements ReviewPolicy {
 
     @Override
@@ -0,0 +1,31 @@
+package com.example.ctreview.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 여러 인스턴스 간 예약 작업 잠금 (lease).
+ * lockedUntil 이 지나면 다른 노드가 가져갈 수 있으므로, 노드가 죽어도 잠금이 영원히 남지 않는다.
+ */
+@Entity
+@Table(name = "job_locks")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobLock {
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(nullable = false, length = 128)
+    private String owner;
+
+    @Column(nullable = false)
+    private LocalDateTime lockedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime lockedUntil;
+}
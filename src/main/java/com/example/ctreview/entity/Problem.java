@@ -1,20 +1,26 @@
 package com.example.ctreview.entity;
 
+import com.example.ctreview.service.DataVersionListener;
 import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.LocalDateTime;
 
 @Table(name = "problems", indexes = {
-        @Index(name = "ix_next_review_status", columnList = "next_review_date,status")
+        @Index(name = "ix_next_review_status", columnList = "next_review_date,status"),
+        // 사용자별 검색/키셋 페이지네이션용
+        @Index(name = "ix_problem_user_status_next", columnList = "user_id,status,next_review_date,id")
 })
 @Getter @Entity
 @Setter
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@EntityListeners(DataVersionListener.class) // ETag 용 사용자 데이터 버전 갱신
 public class Problem {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // IDENTITY 는 JDBC 배치 insert 를 막으므로 pooled 시퀀스 사용 (대량 가져오기)
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "problem_seq")
+    @SequenceGenerator(name = "problem_seq", sequenceName = "problems_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = true)                 // 번호는 있을 수도/없을 수도
@@ -38,7 +44,12 @@ public class Problem {
     @Enumerated(EnumType.STRING)
     @Column(nullable = false) private ProblemStatus status;
 
-    @ManyToOne
+    // 적응형(ADAPTIVE) 정책 상태: null 이면 아직 고정 정책으로만 처리된 문제
+    private Double easeFactor;
+    private Integer intervalDays;
+
+    // LAZY: 목록 조회마다 사용자 조인/추가 select 가 붙지 않도록
+    @ManyToOne(fetch = FetchType.LAZY)
     private User user;
 
     @Version private Long version;
@@ -1,5 +1,6 @@
 package com.example.ctreview.entity;
 
+import com.example.ctreview.service.DataVersionListener;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -9,21 +10,32 @@ import java.time.LocalDate;
 @Table(name = "review_logs", uniqueConstraints = {
         // 하루 1회 중복 처리 방지: 같은 문제, 같은 날짜, 같은 액션은 1회만
         @UniqueConstraint(name = "ux_log_problem_date_action", columnNames = {"problem_id", "action_date", "action"})
+}, indexes = {
+        // 사용자 범위 조회(대시보드/히스토리)용
+        @Index(name = "ix_log_user_date", columnList = "user_id,action_date")
 })
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@EntityListeners(DataVersionListener.class) // ETag 용 사용자 데이터 버전 갱신
 public class ReviewLog {
+    // IDENTITY 는 JDBC 배치 insert 를 막으므로 pooled 시퀀스 사용
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "review_log_seq")
+    @SequenceGenerator(name = "review_log_seq", sequenceName = "review_logs_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "problem_id")
     private Problem problem;
 
+    // problem.user 비정규화: 사용자 범위 조회 시 problems 조인 없이 인덱스만 사용
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private ReviewAction action; // SOLVE / FAIL
@@ -1,10 +1,12 @@
 package com.example.ctreview.entity;
 
+import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 
 /**
  * 리뷰 정책 인터페이스.
- * 난이도에 따라 고정된 간격과 단계가 결정된다.
+ * 기본 구현은 난이도에 따라 고정된 간격과 단계를 사용하며,
+ * 적응형 정책은 onCreate/onSolve/onFail 을 재정의해 문제별 상태로 간격을 계산한다.
  */
 public interface ReviewPolicy {
 
@@ -23,4 +25,41 @@ public interface ReviewPolicy {
      * 간격에 사용되는 단위 (예: DAYS)
      */
     ChronoUnit unit();
+
+    /**
+     * 새 문제의 첫 복습 일정을 정한다.
+     */
+    default void onCreate(Problem p, LocalDateTime now) {
+        scheduleAt(p, p.getReviewCount(), now);
+    }
+
+    /**
+     * 풀이 성공: 다음 간격으로 이동하고, 간격을 모두 마치면 졸업.
+     */
+    default void onSolve(Problem p, LocalDateTime now) {
+        p.setReviewCount(p.getReviewCount() + 1);
+        scheduleAt(p, p.getReviewCount(), now);
+    }
+
+    /**
+     * 풀이 실패: 현재 간격을 한 번 더 유지한다.
+     */
+    default void onFail(Problem p, LocalDateTime now) {
+        int[] intervals = intervals(p.getDifficulty());
+        if (intervals.length == 0) {
+            return;
+        }
+        scheduleAt(p, Math.min(p.getReviewCount(), intervals.length - 1), now);
+    }
+
+    private void scheduleAt(Problem p, int index, LocalDateTime now) {
+        int[] intervals = intervals(p.getDifficulty());
+        if (index >= intervals.length) {
+            p.graduate();
+            return;
+        }
+        p.setReviewStep(step(p.getDifficulty(), index));
+        p.setNextReviewDate(now.plus(intervals[index], unit()));
+        p.setStatus(ProblemStatus.ACTIVE);
+    }
 }
@@ -0,0 +1,6 @@
+package com.example.ctreview.entity;
+
+public enum SchedulingMode {
+    FIXED, // 난이도별 고정 간격
+    ADAPTIVE // 문제별 ease/간격을 조정하는 SM-2 방식
+}
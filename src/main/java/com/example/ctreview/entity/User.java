@@ -3,6 +3,8 @@ package com.example.ctreview.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDate;
+
 @Entity
 @Getter
 @Setter
@@ -17,4 +19,15 @@ public class User {
 
     @Column(nullable = false)
     private String passwordHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private SchedulingMode schedulingMode; // null 이면 FIXED
+
+    // 접근 시 롤오버(lazy 모드)를 마지막으로 적용한 날짜. 최근 활동 사용자 판별에도 쓴다
+    private LocalDate lastRolledDate;
+
+    public SchedulingMode effectiveSchedulingMode() {
+        return schedulingMode == null ? SchedulingMode.FIXED : schedulingMode;
+    }
 }
@@ -0,0 +1,48 @@
+package com.example.ctreview.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * 사용자별 연속 학습일(streak) 상태.
+ * 새로운 날의 첫 SOLVE/FAIL 이 기록될 때만 갱신되므로 조회는 항상 1행이다.
+ */
+@Entity
+@Table(name = "user_streaks")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserStreak {
+    @Id
+    private Long userId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @Column(nullable = false) private int currentStreak;
+    @Column(nullable = false) private int longestStreak;
+    private LocalDate lastActiveDate; // KST 기준 마지막 활동일
+
+    /**
+     * 새 활동일을 반영한다. 같은 날 중복 호출은 무시된다.
+     */
+    public void markActive(LocalDate day) {
+        if (lastActiveDate != null && !day.isAfter(lastActiveDate)) return;
+        currentStreak = (lastActiveDate != null && lastActiveDate.plusDays(1).equals(day)) ? currentStreak + 1 : 1;
+        longestStreak = Math.max(longestStreak, currentStreak);
+        lastActiveDate = day;
+    }
+
+    /**
+     * 오늘까지 이어지는 연속일. 오늘 활동이 없으면 0.
+     */
+    public int currentAsOf(LocalDate today) {
+        return today.equals(lastActiveDate) ? currentStreak : 0;
+    }
+}
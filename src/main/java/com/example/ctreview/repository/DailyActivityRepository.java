@@ -0,0 +1,28 @@
+package com.example.ctreview.repository;
+
+import com.example.ctreview.entity.DailyActivity;
+import com.example.ctreview.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DailyActivityRepository extends JpaRepository<DailyActivity, Long> {
+
+    List<DailyActivity> findByUserOrderByActivityDateAsc(User user);
+
+    List<DailyActivity> findByUserAndActivityDateBetweenOrderByActivityDateAsc(User user, LocalDate from, LocalDate to);
+
+    @Query("select d.activityDate from DailyActivity d where d.user = :user order by d.activityDate desc")
+    List<LocalDate> findActivityDatesDesc(@Param("user") User user);
+
+    // 해당 날짜 행이 이미 있으면 카운트만 올린다. 갱신된 행 수(0 또는 1)를 반환
+    @Modifying(flushAutomatically = true)
+    @Query("update DailyActivity d set d.solveCount = d.solveCount + :solve, d.failCount = d.failCount + :fail " +
+            "where d.user = :user and d.activityDate = :date")
+    int increment(@Param("user") User user, @Param("date") LocalDate date,
+                  @Param("solve") int solve, @Param("fail") int fail);
+}
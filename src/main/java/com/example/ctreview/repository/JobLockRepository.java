@@ -0,0 +1,35 @@
+package com.example.ctreview.repository;
+
+import com.example.ctreview.entity.JobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+
+    // lease 계산 기준 시각은 DB 시계 (노드 간 시계 차이로 잠금이 겹치지 않도록)
+    @Query(value = "select localtimestamp", nativeQuery = true)
+    LocalDateTime dbNow();
+
+    // 만료되었거나 내가 가진 잠금만 가져간다 (갱신 포함). 성공하면 1
+    @Modifying
+    @Query("update JobLock l set l.owner = :owner, l.lockedAt = :now, l.lockedUntil = :until " +
+            "where l.name = :name and (l.lockedUntil <= :now or l.owner = :owner)")
+    int acquire(@Param("name") String name, @Param("owner") String owner,
+                @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    // 최초 생성. 동시에 만들면 한 쪽은 PK 중복으로 실패한다 (merge 로 덮어쓰지 않도록 insert 만)
+    @Modifying
+    @Query(value = "insert into job_locks (name, owner, locked_at, locked_until) values (:name, :owner, :now, :until)",
+            nativeQuery = true)
+    int insert(@Param("name") String name, @Param("owner") String owner,
+               @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    // 내가 가진 잠금의 만료 시각만 바꾼다 (연장/해제). lockedAt 은 그대로. 다른 노드로 넘어갔으면 0
+    @Modifying
+    @Query("update JobLock l set l.lockedUntil = :until where l.name = :name and l.owner = :owner")
+    int updateUntil(@Param("name") String name, @Param("owner") String owner, @Param("until") LocalDateTime until);
+}
@@ -1,16 +1,23 @@
 package com.example.ctreview.repository;
 
+import com.example.ctreview.dto.ProblemDto;
 import com.example.ctreview.entity.Problem;
+import com.example.ctreview.entity.ProblemDifficulty;
 import com.example.ctreview.entity.ProblemStatus;
 import com.example.ctreview.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
-public interface ProblemRepository extends JpaRepository<Problem, Long> {
+public interface ProblemRepository extends JpaRepository<Problem, Long>, ProblemSearchRepository {
     boolean existsByNumber(int number);
     Optional<Problem> findByNumber(int number);
     List<Problem> findByStatusAndNextReviewDateLessThanEqualOrderByReviewStepDesc(ProblemStatus status, LocalDateTime date);
@@ -27,6 +34,19 @@ public interface ProblemRepository extends JpaRepository<Problem, Long> {
     @Query("select coalesce(max(p.number), 0) from Problem p") // ★
     int findMaxNumber();
 
+    // 롤오버용 키셋 청크: id 순으로 afterId 이후 최대 pageable.size 건.
+    // 노드 간 분할: 사용자 id 를 partitions 로 나눈 나머지가 partition 인 행만 (사용자 없는 문제는 0번)
+    @Query("select p from Problem p where p.status = :status and p.nextReviewDate <= :cutoff and p.id > :afterId " +
+            "and mod(coalesce(p.user.id, 0), :partitions) = :partition order by p.id")
+    List<Problem> findOverdueChunk(@Param("status") ProblemStatus status, @Param("cutoff") LocalDateTime cutoff,
+                                   @Param("afterId") long afterId, @Param("partitions") int partitions,
+                                   @Param("partition") int partition, Pageable pageable);
+
+    // 사용자 단위 롤오버 (ix_problem_user_status_next 사용)
+    @Query("select p from Problem p where p.user = :user and p.status = :status and p.nextReviewDate <= :cutoff")
+    List<Problem> findOverdueByUser(@Param("user") User user, @Param("status") ProblemStatus status,
+                                    @Param("cutoff") LocalDateTime cutoff);
+
     // user-scoped queries
     boolean existsByNameAndUser(String name, User user);
     Optional<Problem> findByNameAndUser(String name, User user);
@@ -36,5 +56,43 @@ public interface ProblemRepository extends JpaRepository<Problem, Long> {
     List<Problem> findByUserAndStatusOrderByNextReviewDateAsc(User user, ProblemStatus status);
     List<Problem> findByUserAndStatus(User user, ProblemStatus status);
     List<Problem> findByUser(User user);
+    List<Problem> findByUserAndNameIn(User user, Collection<String> names);
+
+    // 적응형 정책 상태(ease/간격) 초기화. 버전을 올려 진행 중인 처리가 예전 상태로 덮어쓰지 않게 한다
+    @Modifying
+    @Query("update Problem p set p.easeFactor = null, p.intervalDays = null, p.version = p.version + 1 where p.user = :user")
+    int resetAdaptiveState(@Param("user") User user);
+
+    // 읽기 전용 프로젝션: 엔티티/영속성 컨텍스트 스냅샷 없이 응답 필드만 조회
+    @Query("select new com.example.ctreview.dto.ProblemDto(p.number, p.name, p.category, p.difficulty, p.reviewStep, p.reviewCount, p.nextReviewDate, p.status) " +
+            "from Problem p where p.user = :user and p.status = :status order by p.nextReviewDate asc, p.id asc")
+    List<ProblemDto> findDtosByUserAndStatus(@Param("user") User user, @Param("status") ProblemStatus status);
+
+    @Query("select new com.example.ctreview.repository.ProblemRow(p.id, p.number, p.name, p.category, p.difficulty, p.reviewStep, p.reviewCount, p.nextReviewDate, p.status) " +
+            "from Problem p where p.user = :user and p.status = :status")
+    List<ProblemRow> findRowsByUserAndStatus(@Param("user") User user, @Param("status") ProblemStatus status);
+
+    @Query("select p.name from Problem p where p.user = :user")
+    Set<String> findNamesByUser(@Param("user") User user);
+
+    // 대시보드 단계 분포: 엔티티 대신 DB 에서 그룹 집계
+    @Query("select p.reviewStep as step, count(p) as count from Problem p " +
+            "where p.user = :user and p.status = :status group by p.reviewStep")
+    List<StepCount> countByStep(@Param("user") User user, @Param("status") ProblemStatus status);
+
+    interface StepCount {
+        int getStep();
+        long getCount();
+    }
+
+    // 대시보드 난이도별 졸업 수: 목록 대신 그룹 집계
+    @Query("select p.difficulty as difficulty, count(p) as count from Problem p " +
+            "where p.user = :user and p.status = :status group by p.difficulty")
+    List<DifficultyCount> countByDifficulty(@Param("user") User user, @Param("status") ProblemStatus status);
+
+    interface DifficultyCount {
+        ProblemDifficulty getDifficulty();
+        long getCount();
+    }
 }
 
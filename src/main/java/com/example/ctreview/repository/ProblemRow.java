@@ -0,0 +1,20 @@
+package com.example.ctreview.repository;
+
+import com.example.ctreview.dto.ProblemDto;
+import com.example.ctreview.entity.ProblemCategory;
+import com.example.ctreview.entity.ProblemDifficulty;
+import com.example.ctreview.entity.ProblemStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * 읽기 전용 문제 행 (JPQL/Criteria 생성자 프로젝션). 엔티티를 만들지 않고 응답 필드와 id 만 읽는다.
+ * id 는 대기열 캐시 키와 검색 커서에 쓰인다.
+ */
+public record ProblemRow(Long id, Integer number, String name, ProblemCategory category, ProblemDifficulty difficulty,
+                         int reviewStep, int reviewCount, LocalDateTime nextReviewDate, ProblemStatus status) {
+
+    public ProblemDto toDto() {
+        return new ProblemDto(number, name, category, difficulty, reviewStep, reviewCount, nextReviewDate, status);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.ctreview.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 검색 키셋 커서. 마지막으로 내려준 행의 정렬 키(next_review_date 또는 review_step)와 id.
+ * 클라이언트에는 불투명한 문자열로 전달된다.
+ */
+public record ProblemSearchCursor(LocalDateTime nextReviewDate, int reviewStep, long id) {
+
+    public static ProblemSearchCursor of(ProblemRow r) {
+        return new ProblemSearchCursor(r.nextReviewDate(), r.reviewStep(), r.id());
+    }
+
+    public String encode() {
+        String raw = (nextReviewDate == null ? "" : nextReviewDate.toString()) + "|" + reviewStep + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProblemSearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            LocalDateTime date = parts[0].isEmpty() ? null : LocalDateTime.parse(parts[0]);
+            return new ProblemSearchCursor(date, Integer.parseInt(parts[1]), Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 커서");
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.ctreview.repository;
+
+import com.example.ctreview.entity.Problem;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface ProblemSearchRepository {
+    /**
+     * 조건/정렬을 모두 SQL 로 처리하고 최대 limit 건만 행 프로젝션으로 조회한다.
+     */
+    List<ProblemRow> search(Specification<Problem> spec, ProblemSort sort, ProblemSort.Segment segment, int limit);
+}
@@ -0,0 +1,30 @@
+package com.example.ctreview.repository;
+
+import com.example.ctreview.entity.Problem;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+class ProblemSearchRepositoryImpl implements ProblemSearchRepository {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public List<ProblemRow> search(Specification<Problem> spec, ProblemSort sort, ProblemSort.Segment segment, int limit) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<ProblemRow> cq = cb.createQuery(ProblemRow.class);
+        Root<Problem> root = cq.from(Problem.class);
+        cq.select(cb.construct(ProblemRow.class,
+                root.get("id"), root.get("number"), root.get("name"), root.get("category"), root.get("difficulty"),
+                root.get("reviewStep"), root.get("reviewCount"), root.get("nextReviewDate"), root.get("status")));
+        cq.where(spec.toPredicate(root, cq, cb));
+        cq.orderBy(sort.orders(segment, root, cb));
+        return em.createQuery(cq).setMaxResults(limit).getResultList();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.ctreview.repository;
+
+import com.example.ctreview.entity.Problem;
+import jakarta.persistence.criteria.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 검색 정렬 방식. 모든 정렬은 id 를 마지막 키로 사용해 키셋 페이지네이션이 가능하다.
+ * 날짜 정렬은 next_review_date 가 있는 구간(DATED)과 없는(졸업) 구간(UNDATED)을 따로 조회한다.
+ * 구간마다 (next_review_date, id) 또는 id 순서이므로 ix_problem_user_status_next 로 정렬 없이 읽는다.
+ * 없는 구간은 오름차순일 때 맨 뒤, 내림차순일 때 맨 앞.
+ */
+public enum ProblemSort {
+    DATE_ASC, DATE_DESC, STEP_DESC, STEP_ASC;
+
+    /**
+     * 조회 구간. ALL 은 날짜로 나누지 않는 정렬(단계순)에서 쓴다.
+     */
+    public enum Segment { ALL, DATED, UNDATED }
+
+    public static ProblemSort fromParam(String sort) {
+        if ("dateDesc".equalsIgnoreCase(sort)) return DATE_DESC;
+        if ("stepDesc".equalsIgnoreCase(sort)) return STEP_DESC;
+        if ("stepAsc".equalsIgnoreCase(sort)) return STEP_ASC;
+        return DATE_ASC;
+    }
+
+    /**
+     * 이 정렬이 훑는 구간 순서
+     */
+    public List<Segment> segments() {
+        return switch (this) {
+            case DATE_ASC -> List.of(Segment.DATED, Segment.UNDATED);
+            case DATE_DESC -> List.of(Segment.UNDATED, Segment.DATED);
+            case STEP_DESC, STEP_ASC -> List.of(Segment.ALL);
+        };
+    }
+
+    /**
+     * 커서가 속한 구간
+     */
+    public Segment segmentOf(ProblemSearchCursor c) {
+        if (this == STEP_DESC || this == STEP_ASC) return Segment.ALL;
+        return c.nextReviewDate() == null ? Segment.UNDATED : Segment.DATED;
+    }
+
+    Predicate in(Segment segment, Root<Problem> root, CriteriaBuilder cb) {
+        Path<LocalDateTime> date = root.get("nextReviewDate");
+        return switch (segment) {
+            case ALL -> cb.conjunction();
+            case DATED -> cb.isNotNull(date);
+            case UNDATED -> cb.isNull(date);
+        };
+    }
+
+    List<Order> orders(Segment segment, Root<Problem> root, CriteriaBuilder cb) {
+        Path<LocalDateTime> date = root.get("nextReviewDate");
+        Path<Integer> step = root.get("reviewStep");
+        Path<Long> id = root.get("id");
+        return switch (this) {
+            case DATE_ASC -> segment == Segment.UNDATED ? List.of(cb.asc(id)) : List.of(cb.asc(date), cb.asc(id));
+            case DATE_DESC -> segment == Segment.UNDATED ? List.of(cb.desc(id)) : List.of(cb.desc(date), cb.desc(id));
+            case STEP_DESC -> List.of(cb.desc(step), cb.asc(id));
+            case STEP_ASC -> List.of(cb.asc(step), cb.asc(id));
+        };
+    }
+
+    /**
+     * 커서 이후 행만 남기는 조건 (커서와 같은 구간 안에서)
+     */
+    Predicate after(ProblemSearchCursor c, Root<Problem> root, CriteriaBuilder cb) {
+        Path<LocalDateTime> date = root.get("nextReviewDate");
+        Path<Integer> step = root.get("reviewStep");
+        Path<Long> id = root.get("id");
+        return switch (this) {
+            case DATE_ASC -> c.nextReviewDate() == null
+                    ? cb.greaterThan(id, c.id())
+                    : cb.or(cb.greaterThan(date, c.nextReviewDate()),
+                            cb.and(cb.equal(date, c.nextReviewDate()), cb.greaterThan(id, c.id())));
+            case DATE_DESC -> c.nextReviewDate() == null
+                    ? cb.lessThan(id, c.id())
+                    : cb.or(cb.lessThan(date, c.nextReviewDate()),
+                            cb.and(cb.equal(date, c.nextReviewDate()), cb.lessThan(id, c.id())));
+            case STEP_DESC -> cb.or(cb.lessThan(step, c.reviewStep()),
+                    cb.and(cb.equal(step, c.reviewStep()), cb.greaterThan(id, c.id())));
+            case STEP_ASC -> cb.or(cb.greaterThan(step, c.reviewStep()),
+                    cb.and(cb.equal(step, c.reviewStep()), cb.greaterThan(id, c.id())));
+        };
+    }
+}
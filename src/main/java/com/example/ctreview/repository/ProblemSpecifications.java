@@ -0,0 +1,54 @@
+package com.example.ctreview.repository;
+
+import com.example.ctreview.dto.ProblemSearchRequest;
+import com.example.ctreview.entity.Problem;
+import com.example.ctreview.entity.ProblemStatus;
+import com.example.ctreview.entity.User;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ProblemSearchRequest 의 모든 필터를 SQL 조건으로 변환한다.
+ */
+public final class ProblemSpecifications {
+
+    private ProblemSpecifications() {
+    }
+
+    /**
+     * 상태 미지정 시 ACTIVE 만
+     */
+    public static ProblemStatus status(ProblemSearchRequest req) {
+        return req.status() == null ? ProblemStatus.ACTIVE : req.status();
+    }
+
+    /**
+     * segment 구간에서의 검색 조건. cursor 는 같은 구간의 커서일 때만 넘긴다.
+     */
+    public static Specification<Problem> search(User user, ProblemSearchRequest req, ProblemSort sort,
+                                                ProblemSort.Segment segment, ProblemSearchCursor cursor) {
+        return (root, query, cb) -> {
+            List<Predicate> ps = new ArrayList<>();
+            ps.add(user == null ? cb.isNull(root.get("user")) : cb.equal(root.get("user"), user));
+            ps.add(cb.equal(root.get("status"), status(req)));
+            ps.add(sort.in(segment, root, cb));
+            if (req.number() != null) ps.add(cb.equal(root.get("number"), req.number()));
+            if (req.q() != null && !req.q().isBlank()) {
+                ps.add(cb.like(cb.lower(root.get("name")), "%" + escapeLike(req.q().toLowerCase()) + "%", '\\'));
+            }
+            if (req.difficulty() != null) ps.add(cb.equal(root.get("difficulty"), req.difficulty()));
+            if (req.from() != null) ps.add(cb.greaterThanOrEqualTo(root.get("nextReviewDate"), req.from().atStartOfDay()));
+            if (req.to() != null) ps.add(cb.lessThanOrEqualTo(root.get("nextReviewDate"), req.to().atTime(LocalTime.MAX)));
+            if (cursor != null) ps.add(sort.after(cursor, root, cb));
+            return cb.and(ps.toArray(new Predicate[0]));
+        };
+    }
+
+    private static String escapeLike(String s) {
+        return s.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -3,15 +3,42 @@ package com.example.ctreview.repository;
 import com.example.ctreview.entity.Problem;
 import com.example.ctreview.entity.ReviewAction;
 import com.example.ctreview.entity.ReviewLog;
+import com.example.ctreview.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface ReviewLogRepository extends JpaRepository<ReviewLog, Long> {
     boolean existsByProblemAndActionDateAndAction(Problem problem, LocalDate date, ReviewAction action);
 
-    List<ReviewLog> findByActionDateBetween(LocalDate from, LocalDate to);
+    // 일괄 처리용: 여러 문제의 해당 날짜 처리 내역을 한 번에 조회
+    @Query("select l.problem.id as problemId, l.action as action from ReviewLog l " +
+            "where l.problem in :problems and l.actionDate = :date")
+    List<ActionKey> findActionKeys(@Param("problems") Collection<Problem> problems, @Param("date") LocalDate date);
 
+    // user-scoped queries (ix_log_user_date)
+    @Query("select l.actionDate as date, " +
+            "sum(case when l.action = com.example.ctreview.entity.ReviewAction.SOLVE then 1 else 0 end) as solveCount, " +
+            "sum(case when l.action = com.example.ctreview.entity.ReviewAction.FAIL then 1 else 0 end) as failCount " +
+            "from ReviewLog l where l.user = :user " +
+            "group by l.actionDate order by l.actionDate")
+    List<DailyCount> countDailyByUser(@Param("user") User user);
 
+    interface ActionKey {
+        Long getProblemId();
+        ReviewAction getAction();
+    }
+
+    /**
+     * 일별 집계 프로젝션
+     */
+    interface DailyCount {
+        LocalDate getDate();
+        long getSolveCount();
+        long getFailCount();
+    }
 }
@@ -1,11 +1,37 @@
 package com.example.ctreview.repository;
 
 import com.example.ctreview.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.LockModeType;
+
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
     Optional<User> findByEmail(String email);
+
+    // 사용자 단위 직렬화: 같은 사용자의 최초 행(일일 활동, streak)을 동시에 만들지 않도록 트랜잭션 끝까지 잠근다
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select u from User u where u.id = :id")
+    Optional<User> lockById(@Param("id") Long id);
+
+    // 오늘 롤오버 표시. 이미 표시되어 있으면 0 (동시 요청 중 한 쪽만 롤오버하도록)
+    @Modifying
+    @Query("update User u set u.lastRolledDate = :today where u.id = :id and (u.lastRolledDate is null or u.lastRolledDate < :today)")
+    int markRolled(@Param("id") Long id, @Param("today") LocalDate today);
+
+    // 백그라운드 롤오버 대상: since 이후 활동했지만 오늘은 아직 롤오버되지 않은 사용자 (id 키셋, id 해시 분할)
+    @Query("select u.id from User u where u.lastRolledDate >= :since and u.lastRolledDate < :today and u.id > :afterId " +
+            "and mod(u.id, :partitions) = :partition order by u.id")
+    List<Long> findRecentlyActiveNotRolled(@Param("since") LocalDate since, @Param("today") LocalDate today,
+                                           @Param("afterId") long afterId, @Param("partitions") int partitions,
+                                           @Param("partition") int partition, Pageable pageable);
 }
@@ -0,0 +1,7 @@
+package com.example.ctreview.repository;
+
+import com.example.ctreview.entity.UserStreak;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface UserStreakRepository extends JpaRepository<UserStreak, Long> {
+}
@@ -1,22 +1,119 @@
 package com.example.ctreview.service;
 
+import com.example.ctreview.entity.SchedulingMode;
 import com.example.ctreview.entity.User;
 import com.example.ctreview.repository.UserRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpSession;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 세션의 로그인 사용자 조회. 요청마다 findById 하지 않도록 최근 사용자 LRU 캐시를 둔다.
+ * 캐시에는 불변 스냅샷만 두고 호출마다 새 (detached) User 사본을 돌려주므로, 호출자가 사본을 바꿔도 캐시는 그대로다.
+ * 사용자 정보를 바꾸는 쪽은 findById 로 새로 읽어 저장한 뒤 invalidate 해야 한다.
+ * invalidate 는 이 노드의 캐시만 비우므로 캐시는 노드 로컬 캐시 설정(NodeLocalCaches)이 켜진 경우에만 쓴다.
+ * LAZY 롤오버 모드에서는 사용자의 그날 첫 조회 때 롤오버를 적용한다.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class AuthService {
     private final UserRepository userRepo;
+    private final RolloverService rolloverService;
+    private final Map<Long, CachedUser> cache;
+    private final boolean cacheEnabled;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public AuthService(UserRepository userRepo, RolloverService rolloverService, MeterRegistry meterRegistry,
+                       NodeLocalCaches nodeLocalCaches,
+                       @Value("${ctreview.user-cache.max-size:10000}") int maxSize) {
+        this.userRepo = userRepo;
+        this.rolloverService = rolloverService;
+        this.cacheEnabled = nodeLocalCaches.enabled();
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedUser> eldest) {
+                return size() > maxSize;
+            }
+        });
+        FunctionCounter.builder("ctreview.user.cache", hits, AtomicLong::get)
+                .tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("ctreview.user.cache", misses, AtomicLong::get)
+                .tag("result", "miss").register(meterRegistry);
+        Gauge.builder("ctreview.user.cache.size", cache, Map::size).register(meterRegistry);
+    }
 
     public User getCurrentUser(HttpSession session) {
         Long id = (Long) session.getAttribute("uid");
         log.debug("getCurrentUser uid={}", id);
         if (id == null) return null;
-        return userRepo.findById(id).orElse(null);
+        CachedUser cached = cacheEnabled ? cache.get(id) : null;
+        if (cached != null) {
+            hits.incrementAndGet();
+        } else {
+            if (cacheEnabled) misses.incrementAndGet();
+            User user = userRepo.findById(id).orElse(null);
+            if (user == null) return null;
+            cached = CachedUser.of(user);
+            if (cacheEnabled) cache.put(id, cached);
+        }
+        LocalDate rolled = ensureRolled(id, cached.lastRolledDate());
+        if (!Objects.equals(rolled, cached.lastRolledDate())) {
+            cached = cached.withLastRolledDate(rolled);
+            cache.computeIfPresent(id, (k, v) -> v.withLastRolledDate(rolled));
+        }
+        return cached.toUser();
+    }
+
+    // 그날 첫 접근이면 이 사용자 문제만 롤오버. 실패해도 요청은 계속한다 (markRolled 도 롤백되므로 다음 요청이 다시 시도)
+    private LocalDate ensureRolled(Long id, LocalDate lastRolledDate) {
+        try {
+            return rolloverService.ensureRolled(id, lastRolledDate);
+        } catch (RuntimeException e) {
+            log.warn("lazy rollover failed userId={}", id, e);
+            return lastRolledDate;
+        }
+    }
+
+    /**
+     * 로그인 직후 캐시를 미리 채운다.
+     */
+    public void cache(User user) {
+        if (cacheEnabled) cache.put(user.getId(), CachedUser.of(user));
+    }
+
+    public void invalidate(Long userId) {
+        if (userId != null) cache.remove(userId);
+    }
+
+    // 요청 처리에 필요한 필드만 담은 불변 스냅샷 (비밀번호 해시는 두지 않는다)
+    private record CachedUser(Long id, String email, SchedulingMode schedulingMode, LocalDate lastRolledDate) {
+        static CachedUser of(User u) {
+            return new CachedUser(u.getId(), u.getEmail(), u.getSchedulingMode(), u.getLastRolledDate());
+        }
+
+        CachedUser withLastRolledDate(LocalDate date) {
+            return new CachedUser(id, email, schedulingMode, date);
+        }
+
+        User toUser() {
+            User u = new User();
+            u.setId(id);
+            u.setEmail(email);
+            u.setSchedulingMode(schedulingMode);
+            u.setLastRolledDate(lastRolledDate);
+            return u;
+        }
     }
 }
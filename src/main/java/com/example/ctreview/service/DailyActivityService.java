@@ -0,0 +1,99 @@
+package com.example.ctreview.service;
+
+import com.example.ctreview.entity.DailyActivity;
+import com.example.ctreview.entity.ReviewAction;
+import com.example.ctreview.entity.User;
+import com.example.ctreview.repository.DailyActivityRepository;
+import com.example.ctreview.repository.ReviewLogRepository;
+import com.example.ctreview.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자 일일 활동 롤업(daily_activity) 관리.
+ */
+@Service
+@Timed("ctreview.service")
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class DailyActivityService {
+    private final DailyActivityRepository activityRepo;
+    private final ReviewLogRepository logRepo;
+    private final StreakService streakService;
+    private final UserRepository userRepo;
+
+    // 롤업이 비어 있고 재구성할 로그도 없다고 확인된 사용자 (이후 로그는 record 로 롤업에 바로 반영됨)
+    private final Set<Long> noHistoryUsers = ConcurrentHashMap.newKeySet();
+
+    @Value("${ctreview.activity.no-history-users.max:100000}")
+    private int maxNoHistoryUsers;
+
+    /**
+     * ReviewLog 1건을 롤업에 반영한다.
+     */
+    public void record(User user, ReviewAction action, LocalDate day) {
+        record(user, day, action == ReviewAction.SOLVE ? 1 : 0, action == ReviewAction.FAIL ? 1 : 0);
+    }
+
+    /**
+     * 여러 건을 한 번에 반영한다 (일괄 처리용).
+     */
+    public void record(User user, LocalDate day, int solve, int fail) {
+        if (user == null || solve + fail == 0) return;
+        if (activityRepo.increment(user, day, solve, fail) > 0) return;
+        // 그날 첫 처리: 사용자 행을 잠가 같은 사용자의 동시 첫 처리를 직렬화하고, 먼저 커밋된 행이 있으면 그 행에 더한다
+        userRepo.lockById(user.getId());
+        if (activityRepo.increment(user, day, solve, fail) > 0) return;
+        activityRepo.save(DailyActivity.builder()
+                .user(user)
+                .activityDate(day)
+                .solveCount(solve)
+                .failCount(fail)
+                .build());
+        streakService.onActiveDay(user, day);
+    }
+
+    /**
+     * 사용자 롤업을 반환한다. 롤업이 비어 있으면 (롤업 도입 이전 데이터) DB 일별 집계로 재구성하며,
+     * 재구성할 로그도 없던 사용자는 기억해 두고 다시 집계하지 않는다.
+     */
+    public List<DailyActivity> findAll(User user) {
+        List<DailyActivity> activities = activityRepo.findByUserOrderByActivityDateAsc(user);
+        if (!activities.isEmpty() || noHistoryUsers.contains(user.getId())) return activities;
+        activities = rebuild(user);
+        if (activities.isEmpty()) {
+            if (noHistoryUsers.size() >= maxNoHistoryUsers) noHistoryUsers.clear();
+            noHistoryUsers.add(user.getId());
+        }
+        return activities;
+    }
+
+    private List<DailyActivity> rebuild(User user) {
+        var counts = logRepo.countDailyByUser(user);
+        if (counts.isEmpty()) return List.of();
+        // 동시에 재구성하는 다른 요청이 있으면 그쪽 커밋을 기다렸다가 그 결과를 쓴다
+        userRepo.lockById(user.getId());
+        List<DailyActivity> existing = activityRepo.findByUserOrderByActivityDateAsc(user);
+        if (!existing.isEmpty()) return existing;
+        log.debug("rebuild daily activity userId={} days={}", user.getId(), counts.size());
+        var rows = counts.stream()
+                .map(c -> DailyActivity.builder()
+                        .user(user)
+                        .activityDate(c.getDate())
+                        .solveCount((int) c.getSolveCount())
+                        .failCount((int) c.getFailCount())
+                        .build())
+                .toList();
+        return activityRepo.saveAll(rows);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.ctreview.service;
+
+import com.example.ctreview.entity.Problem;
+import com.example.ctreview.entity.ReviewLog;
+import com.example.ctreview.entity.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Problem/ReviewLog 변경 시 소유 사용자의 데이터 버전을 올린다.
+ * Hibernate 가 Spring 빈 컨테이너로 생성하므로 생성자 주입을 쓴다.
+ */
+@RequiredArgsConstructor
+public class DataVersionListener {
+    private final DataVersionService dataVersions;
+
+    @PostPersist @PostUpdate @PostRemove
+    void changed(Object entity) {
+        User user = entity instanceof Problem p ? p.getUser()
+                : entity instanceof ReviewLog l ? l.getUser()
+                : null;
+        // LAZY 프록시여도 getId() 는 초기화하지 않는다
+        if (user != null) dataVersions.touch(user.getId());
+    }
+}
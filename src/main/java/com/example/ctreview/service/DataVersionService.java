@@ -0,0 +1,88 @@
+package com.example.ctreview.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사용자별 데이터 버전 (ETag 용). 문제/로그가 바뀌어 커밋되면 새 값으로 바뀌고 UserDataChangedEvent 를 발행한다.
+ * 값은 노드 전역 단조 증가 카운터에서 받으므로 항목을 지워도 예전 값이 재사용되지 않고,
+ * 노드별 무작위 epoch 를 붙여 재시작/다른 노드와도 겹치지 않는다.
+ * 버전은 이 JVM 메모리에만 있어 다른 노드의 쓰기는 반영되지 않는다. 그래서 ETag 는 NodeLocalCaches 가 켜진 단일 노드에서만 쓴다.
+ */
+@Component
+@Slf4j
+public class DataVersionService {
+    private final String epoch = HexFormat.of().toHexDigits(new SecureRandom().nextLong());
+    private final AtomicLong counter = new AtomicLong();
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+    private final int maxUsers;
+    private final ApplicationEventPublisher events;
+
+    public DataVersionService(@Value("${ctreview.data-version.max-users:100000}") int maxUsers,
+                              ApplicationEventPublisher events) {
+        this.maxUsers = maxUsers;
+        this.events = events;
+    }
+
+    public String current(Long userId) {
+        long v = versions.computeIfAbsent(userId, k -> counter.incrementAndGet());
+        return epoch + "-" + Long.toString(v, 36);
+    }
+
+    /**
+     * 변경 표시. 트랜잭션 안이면 커밋 후에 트랜잭션당 사용자별 1회 반영된다
+     * (커밋 전 데이터가 새 버전으로 캐시되지 않도록).
+     */
+    public void touch(Long userId) {
+        if (userId == null) return;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            changed(userId);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<Long> pending = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<Long> users = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, users);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    users.forEach(DataVersionService.this::changed);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DataVersionService.this);
+                }
+            });
+            pending = users;
+        }
+        pending.add(userId);
+    }
+
+    private void changed(Long userId) {
+        bump(userId);
+        events.publishEvent(new UserDataChangedEvent(userId));
+    }
+
+    private void bump(Long userId) {
+        if (versions.size() >= maxUsers && !versions.containsKey(userId)) {
+            // 전부 비워도 안전: 다음 조회 때 새 값이 발급되어 한 번 다시 받을 뿐
+            log.debug("data versions cleared size={}", versions.size());
+            versions.clear();
+        }
+        versions.put(userId, counter.incrementAndGet());
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.ctreview.service;
+
+import com.example.ctreview.dto.ProblemDto;
+import com.example.ctreview.entity.Problem;
+import com.example.ctreview.entity.ProblemStatus;
+import com.example.ctreview.repository.ProblemRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 사용자별 ACTIVE 문제 대기열 캐시 (다음 복습 시각 오름차순, 같은 시각이면 단계 내림차순).
+ * 변경은 트랜잭션 커밋 후 증분 반영되며, 최근 접근 순으로 최대 사용자 수를 넘으면 오래된 사용자부터 제거된다.
+ * 이 노드의 변경만 반영하므로 NodeLocalCaches 가 꺼져 있으면(다중 노드) 보관하지 않고 매번 loader 로 읽는다.
+ */
+@Component
+@Slf4j
+public class DueQueueCache {
+
+    record Entry(long id, LocalDateTime nextReviewDate, int reviewStep, ProblemDto dto) {
+        static Entry of(Problem p) {
+            return new Entry(p.getId(), p.getNextReviewDate(), p.getReviewStep(), ProblemDto.from(p));
+        }
+
+        static Entry of(ProblemRow r) {
+            return new Entry(r.id(), r.nextReviewDate(), r.reviewStep(), r.toDto());
+        }
+    }
+
+    private static final Comparator<Entry> DUE_ORDER = Comparator
+            .comparing(Entry::nextReviewDate)
+            .thenComparing(Entry::reviewStep, Comparator.reverseOrder())
+            .thenComparingLong(Entry::id);
+
+    // 오늘 목록의 응답 순서 (기존 API 와 동일하게 단계 내림차순)
+    private static final Comparator<Entry> TODAY_ORDER = Comparator
+            .comparing(Entry::reviewStep, Comparator.reverseOrder())
+            .thenComparing(Entry::nextReviewDate)
+            .thenComparingLong(Entry::id);
+
+    private static final class UserQueue {
+        final TreeSet<Entry> byDue = new TreeSet<>(DUE_ORDER);
+        final Map<Long, Entry> byId = new HashMap<>();
+        volatile long lastAccess = System.nanoTime();
+
+        synchronized void put(Entry e) {
+            Entry old = byId.remove(e.id());
+            if (old != null) byDue.remove(old);
+            byId.put(e.id(), e);
+            byDue.add(e);
+        }
+
+        synchronized void remove(long id) {
+            Entry old = byId.remove(id);
+            if (old != null) byDue.remove(old);
+        }
+
+        synchronized List<Entry> dueAt(LocalDateTime now) {
+            return new ArrayList<>(byDue.headSet(last(now), true));
+        }
+
+        synchronized List<Entry> dueBetween(LocalDateTime after, LocalDateTime now) {
+            return new ArrayList<>(byDue.subSet(last(after), false, last(now), true));
+        }
+
+        synchronized LocalDateTime nextAfter(LocalDateTime now) {
+            Entry e = byDue.higher(last(now));
+            return e != null ? e.nextReviewDate() : null;
+        }
+
+        // 같은 시각의 어떤 항목보다도 뒤에 정렬되는 탐색용 키
+        private static Entry last(LocalDateTime at) {
+            return new Entry(Long.MAX_VALUE, at, Integer.MIN_VALUE, null);
+        }
+    }
+
+    private final Map<Long, UserQueue> queues;
+    // 로딩 중 발생한 변경을 감지하기 위한 사용자별 세대 번호
+    private final Map<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final Duration idleTtl;
+    private final boolean enabled;
+
+    public DueQueueCache(@Value("${ctreview.due-queue.max-users:10000}") int maxUsers,
+                         @Value("${ctreview.due-queue.idle-ttl:30m}") Duration idleTtl,
+                         NodeLocalCaches nodeLocalCaches) {
+        this.idleTtl = idleTtl;
+        this.enabled = nodeLocalCaches.enabled();
+        this.queues = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UserQueue> eldest) {
+                return size() > maxUsers;
+            }
+        });
+    }
+
+    /**
+     * 현재 시각 기준 복습 대상. 캐시에 없으면 loader 로 사용자의 ACTIVE 문제 행을 한 번 읽어 채운다.
+     */
+    public List<ProblemDto> listDue(Long userId, LocalDateTime now, Supplier<List<ProblemRow>> loader) {
+        return queue(userId, loader).dueAt(now).stream()
+                .sorted(TODAY_ORDER)
+                .map(Entry::dto)
+                .toList();
+    }
+
+    public int countDue(Long userId, LocalDateTime now, Supplier<List<ProblemRow>> loader) {
+        return queue(userId, loader).dueAt(now).size();
+    }
+
+    /**
+     * (after, now] 사이에 새로 복습 대상이 된 문제.
+     */
+    public List<ProblemDto> dueBetween(Long userId, LocalDateTime after, LocalDateTime now, Supplier<List<ProblemRow>> loader) {
+        return queue(userId, loader).dueBetween(after, now).stream()
+                .sorted(TODAY_ORDER)
+                .map(Entry::dto)
+                .toList();
+    }
+
+    /**
+     * now 이후 가장 먼저 복습 대상이 되는 시각. 없으면 empty.
+     */
+    public Optional<LocalDateTime> nextDueAfter(Long userId, LocalDateTime now, Supplier<List<ProblemRow>> loader) {
+        return Optional.ofNullable(queue(userId, loader).nextAfter(now));
+    }
+
+    private UserQueue queue(Long userId, Supplier<List<ProblemRow>> loader) {
+        UserQueue q = enabled ? queues.get(userId) : null;
+        if (q == null) {
+            AtomicLong counter = generation(userId);
+            long gen = counter.get();
+            UserQueue loaded = new UserQueue();
+            for (ProblemRow r : loader.get()) {
+                if (r.status() == ProblemStatus.ACTIVE && r.nextReviewDate() != null) loaded.put(Entry.of(r));
+            }
+            // 로딩 도중 변경이 있었다면 캐시에 올리지 않는다 (다음 요청에서 다시 로딩).
+            // evictIdle 이 그 사이 세대 번호를 지우고 새로 만들었을 수 있으므로 값뿐 아니라 같은 카운터인지도 본다
+            if (enabled && generations.get(userId) == counter && counter.get() == gen) {
+                queues.putIfAbsent(userId, loaded);
+                q = queues.get(userId);
+            }
+            if (q == null) q = loaded;
+            log.debug("due queue loaded userId={} size={}", userId, loaded.byId.size());
+        }
+        q.lastAccess = System.nanoTime();
+        return q;
+    }
+
+    /**
+     * 문제 상태 변경을 반영한다. 트랜잭션 안이면 커밋 후에 반영된다.
+     */
+    public void update(Long userId, Problem p) {
+        if (userId == null || !enabled) return;
+        boolean active = p.getStatus() == ProblemStatus.ACTIVE && p.getNextReviewDate() != null;
+        Entry e = active ? Entry.of(p) : null;
+        long id = p.getId();
+        afterCommit(() -> {
+            generation(userId).incrementAndGet();
+            UserQueue q = queues.get(userId);
+            if (q == null) return;
+            if (e != null) q.put(e); else q.remove(id);
+        });
+    }
+
+    public void remove(Long userId, Long problemId) {
+        if (userId == null || !enabled) return;
+        afterCommit(() -> {
+            generation(userId).incrementAndGet();
+            UserQueue q = queues.get(userId);
+            if (q != null) q.remove(problemId);
+        });
+    }
+
+    public void evict(Long userId) {
+        if (userId == null || !enabled) return;
+        afterCommit(() -> {
+            generation(userId).incrementAndGet();
+            queues.remove(userId);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${ctreview.due-queue.sweep-interval:PT5M}")
+    public void evictIdle() {
+        long threshold = System.nanoTime() - idleTtl.toNanos();
+        synchronized (queues) {
+            queues.values().removeIf(q -> q.lastAccess < threshold);
+        }
+        generations.keySet().removeIf(id -> !queues.containsKey(id));
+    }
+
+    private AtomicLong generation(Long userId) {
+        return generations.computeIfAbsent(userId, k -> new AtomicLong());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
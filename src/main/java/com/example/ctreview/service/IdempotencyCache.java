@@ -0,0 +1,121 @@
+package com.example.ctreview.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 처리. 같은 (범위, 키) 요청은 한 번만 실행하고 이후에는 첫 결과를 그대로 돌려준다.
+ * 처리 중인 같은 키 요청은 첫 요청이 끝날 때까지 (최대 wait) 기다린다. 실패한 요청은 저장하지 않아 다시 시도할 수 있다.
+ * 같은 키를 다른 요청 내용(fingerprint)으로 다시 쓰면 KeyReusedException(422) 이다.
+ * 최대 개수를 넘으면 만료된 항목, 그래도 넘으면 가장 오래된 완료 항목부터 지운다.
+ */
+@Component
+@Slf4j
+public class IdempotencyCache {
+    private record Entry(CompletableFuture<Object> result, Object fingerprint, long expiresAt) {}
+
+    /**
+     * 같은 Idempotency-Key 를 다른 요청 내용으로 재사용
+     */
+    public static class KeyReusedException extends RuntimeException {
+        public KeyReusedException() {
+            super("같은 Idempotency-Key 가 다른 요청에 사용되었습니다.");
+        }
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ReviewMetrics metrics;
+    private final Duration ttl;
+    private final int maxEntries;
+    private final Duration wait;
+
+    public IdempotencyCache(ReviewMetrics metrics,
+                            @Value("${ctreview.idempotency.ttl:10m}") Duration ttl,
+                            @Value("${ctreview.idempotency.max-entries:100000}") int maxEntries,
+                            @Value("${ctreview.idempotency.wait:PT30S}") Duration wait) {
+        this.metrics = metrics;
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        this.wait = wait;
+    }
+
+    /**
+     * @param fingerprint 요청 내용 식별값 (문제 이름, 요청 본문 해시 등). 같은 키의 재요청과 equals 로 비교한다
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String scope, String key, Object fingerprint, Supplier<T> work) {
+        if (key == null || key.isBlank()) return work.get();
+        String k = scope + ":" + key;
+        long now = System.nanoTime();
+        Entry mine = new Entry(new CompletableFuture<>(), fingerprint, now + ttl.toNanos());
+        Entry existing = entries.compute(k, (x, e) -> e == null || e.expiresAt() - now < 0 ? mine : e);
+        if (existing != mine) {
+            if (!Objects.equals(existing.fingerprint(), fingerprint)) throw new KeyReusedException();
+            metrics.idempotentReplay();
+            log.debug("idempotent replay key={}", k);
+            return (T) await(existing.result());
+        }
+        if (entries.size() > maxEntries) trim();
+        try {
+            T result = work.get();
+            mine.result().complete(result);
+            return result;
+        } catch (Throwable t) {
+            // RuntimeException 뿐 아니라 Error 도 완료시켜 기다리는 요청이 막히지 않도록
+            entries.remove(k, mine);
+            mine.result().completeExceptionally(t);
+            throw t;
+        }
+    }
+
+    private Object await(CompletableFuture<Object> f) {
+        try {
+            return f.get(wait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException("같은 키의 이전 요청이 실패했습니다. 다시 시도해 주세요.", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("같은 키의 요청이 아직 처리 중입니다. 잠시 후 다시 시도해 주세요.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("요청이 중단되었습니다.");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ctreview.idempotency.sweep-interval:PT1M}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        entries.values().removeIf(e -> e.expiresAt() - now < 0);
+    }
+
+    // 만료 항목을 지우고도 넘치면 가장 오래된 완료 항목부터 지운다 (매번 정렬하지 않도록 1/10 여유를 더 비운다)
+    private synchronized void trim() {
+        evictExpired();
+        int excess = entries.size() - maxEntries;
+        if (excess <= 0) return;
+        long now = System.nanoTime();
+        entries.entrySet().stream()
+                .filter(e -> e.getValue().result().isDone())
+                .sorted(Comparator.comparingLong(e -> e.getValue().expiresAt() - now))
+                .limit(excess + maxEntries / 10)
+                .toList()
+                .forEach(e -> entries.remove(e.getKey(), e.getValue()));
+    }
+
+    int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.ctreview.service;
+
+import com.example.ctreview.repository.JobLockRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DB 테이블(job_locks) 기반 lease 잠금. 같은 DB 를 쓰는 여러 노드 중 한 곳만 작업을 실행하게 한다.
+ * 각 호출은 자체 트랜잭션으로 바로 커밋된다. 시각은 모두 DB 시계 기준이라 노드 간 시계 차이의 영향을 받지 않는다.
+ */
+@Service
+@Slf4j
+public class JobLockService {
+    private final JobLockRepository lockRepo;
+    private final TransactionTemplate tx;
+    private final String owner = UUID.randomUUID().toString(); // 노드(컨텍스트) 식별자
+
+    public JobLockService(JobLockRepository lockRepo, TransactionTemplate tx) {
+        this.lockRepo = lockRepo;
+        this.tx = tx;
+    }
+
+    /**
+     * lease 동안 잠금을 잡는다. 이미 내가 가진 잠금이면 연장한다.
+     */
+    public boolean tryLock(String name, Duration lease) {
+        Integer updated = tx.execute(s -> {
+            LocalDateTime now = lockRepo.dbNow();
+            return lockRepo.acquire(name, owner, now, now.plus(lease));
+        });
+        if (updated != null && updated == 1) return true;
+        if (lockRepo.existsById(name)) return false;
+        try {
+            tx.execute(s -> {
+                LocalDateTime now = lockRepo.dbNow();
+                return lockRepo.insert(name, owner, now, now.plus(lease));
+            });
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            log.debug("job lock insert race name={}", name);
+            return false;
+        }
+    }
+
+    /**
+     * 긴 작업 도중 lease 연장. 다른 노드에 넘어갔으면 false (작업을 멈춰야 한다).
+     */
+    public boolean renew(String name, Duration lease) {
+        Integer updated = tx.execute(s -> lockRepo.updateUntil(name, owner, lockRepo.dbNow().plus(lease)));
+        return updated != null && updated == 1;
+    }
+
+    /**
+     * 잠금 해제. 비슷한 시각에 시작한 다른 노드가 같은 작업을 바로 다시 하지 않도록 잡은 시각부터 minHold 동안은 유지한다.
+     */
+    public void unlock(String name, Duration minHold) {
+        tx.executeWithoutResult(s -> lockRepo.findById(name)
+                .filter(l -> owner.equals(l.getOwner()))
+                .ifPresent(l -> {
+                    LocalDateTime now = lockRepo.dbNow();
+                    LocalDateTime holdUntil = l.getLockedAt().plus(minHold);
+                    lockRepo.updateUntil(name, owner, holdUntil.isAfter(now) ? holdUntil : now);
+                }));
+    }
+}
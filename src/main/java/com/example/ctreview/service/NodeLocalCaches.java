@@ -0,0 +1,22 @@
+package com.example.ctreview.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 노드 로컬 캐시(ETag 데이터 버전, 사용자별 복습 대기열, 로그인 사용자) 사용 여부.
+ * 모두 이 JVM 에서 커밋된 변경만 알기 때문에 다른 노드의 쓰기 후에도 304/예전 오늘 목록/예전 사용자 설정을 줄 수 있다.
+ * 그래서 단일 노드 전용이며, ctreview.node-local-cache.enabled 하나로만 켠다 (기본 꺼짐, 여러 노드로 띄울 때는 켜지 말 것).
+ */
+@Component
+public class NodeLocalCaches {
+    private final boolean enabled;
+
+    public NodeLocalCaches(@Value("${ctreview.node-local-cache.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.ctreview.service;
+
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * 낙관적 잠금(@Version) 충돌 시 제한된 횟수만큼 지터를 둔 지수 백오프로 재시도한다.
+ * 충돌은 커밋 시점에 나므로 반드시 트랜잭션 바깥(서비스 프록시 호출 전체)을 감싸야 한다.
+ */
+@Component
+@Slf4j
+public class OptimisticRetry {
+    private final ReviewMetrics metrics;
+    private final int maxAttempts;
+    private final Duration backoff;
+
+    public OptimisticRetry(ReviewMetrics metrics,
+                           @Value("${ctreview.retry.max-attempts:3}") int maxAttempts,
+                           @Value("${ctreview.retry.backoff:PT0.02S}") Duration backoff) {
+        this.metrics = metrics;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoff = backoff;
+    }
+
+    public <T> T run(String action, Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return work.get();
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                if (attempt >= maxAttempts) {
+                    metrics.conflict(action, "exhausted");
+                    log.debug("optimistic conflict exhausted action={} attempts={}", action, attempt);
+                    throw e;
+                }
+                metrics.conflict(action, "retried");
+                log.debug("optimistic conflict action={} attempt={}", action, attempt);
+                pause(attempt);
+            }
+        }
+    }
+
+    // backoff * 2^(attempt-1) 에 0.5~1.5 배 지터 (동시에 충돌한 요청들이 다시 부딪히지 않도록)
+    private void pause(int attempt) {
+        long base = backoff.toMillis() << (attempt - 1);
+        long millis = (long) (base * (0.5 + ThreadLocalRandom.current().nextDouble()));
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("요청이 중단되었습니다.");
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.ctreview.service;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * bcrypt 해시/검증 전용 실행기.
+ * 고정 크기 스레드 + 제한된 대기열로 돌리고, 대기열이 차면 즉시 RejectedExecutionException(→ 503)으로 거절해
+ * 로그인 폭주가 요청 스레드를 전부 점유하지 못하게 한다.
+ * 요청 스레드는 결과를 기다리므로, 해시를 기다리며 묶일 수 있는 요청 스레드 수(스레드 + 대기열)를
+ * 웹 요청 스레드 풀의 1/4 이하로 제한한다 (설정이 더 크면 대기열을 줄인다).
+ */
+@Service
+@Timed("ctreview.service")
+@Slf4j
+public class PasswordHashingService {
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+
+    private final PasswordEncoder encoder;
+    private final int cost;
+    private final ThreadPoolExecutor executor;
+
+    public PasswordHashingService(PasswordEncoder encoder, MeterRegistry meterRegistry,
+                                  @Value("${ctreview.password.bcrypt-cost:10}") int cost,
+                                  @Value("${ctreview.password.threads:0}") int threads,
+                                  @Value("${ctreview.password.queue-size:16}") int queueSize,
+                                  @Value("${server.tomcat.threads.max:200}") int webThreads) {
+        this.encoder = encoder;
+        this.cost = cost;
+        int limit = Math.max(2, webThreads / 4);
+        int size = Math.min(threads > 0 ? threads : Runtime.getRuntime().availableProcessors(), limit - 1);
+        if (size + queueSize > limit) {
+            log.warn("password queue-size {} reduced to {}: threads + queue must stay within 1/4 of {} web threads",
+                    queueSize, limit - size, webThreads);
+            queueSize = limit - size;
+        }
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                r -> {
+                    Thread t = new Thread(r, "bcrypt-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        new ExecutorServiceMetrics(executor, "ctreview.password", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    public String encode(String raw) {
+        return run(() -> encoder.encode(raw));
+    }
+
+    public boolean matches(String raw, String hash) {
+        return run(() -> encoder.matches(raw, hash));
+    }
+
+    /**
+     * 저장된 bcrypt 해시의 cost 가 현재 설정과 다르면 true (로그인 성공 시 재해시 대상).
+     */
+    public boolean needsRehash(String hash) {
+        Matcher m = hash != null ? BCRYPT_COST.matcher(hash) : null;
+        return m != null && m.find() && Integer.parseInt(m.group(1)) != cost;
+    }
+
+    private <T> T run(Callable<T> work) {
+        Future<T> f = executor.submit(work); // 대기열 초과 시 RejectedExecutionException
+        try {
+            return f.get();
+        } catch (InterruptedException e) {
+            f.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("요청이 중단되었습니다.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
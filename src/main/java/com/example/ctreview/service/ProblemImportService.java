@@ -0,0 +1,160 @@
+package com.example.ctreview.service;
+
+import com.example.ctreview.dto.ImportResultDto;
+import com.example.ctreview.dto.ProblemCreateRequest;
+import com.example.ctreview.entity.Problem;
+import com.example.ctreview.entity.ProblemCategory;
+import com.example.ctreview.entity.ProblemDifficulty;
+import com.example.ctreview.entity.User;
+import com.example.ctreview.repository.ProblemRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 문제 대량 가져오기. 업로드를 한 줄씩 읽어 처리하며(전체 버퍼링 없음),
+ * 기존 이름은 1회 조회로 중복 제거하고 BATCH_SIZE 단위로 배치 insert 한다.
+ * CSV 컬럼: number,name,category,difficulty (첫 줄 헤더는 선택)
+ */
+@Service
+@Timed("ctreview.service")
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class ProblemImportService {
+    public enum Format { CSV, NDJSON }
+
+    static final int BATCH_SIZE = 50; // hibernate.jdbc.batch_size 와 동일
+    private static final int MAX_ERRORS = 100;
+
+    private final ProblemRepository problemRepo;
+    private final ReviewService reviewService;
+    private final DueQueueCache dueQueue;
+    private final ObjectMapper objectMapper;
+    private final EntityManager em;
+
+    public ImportResultDto importProblems(User user, InputStream in, Format format) {
+        if (user == null) throw new IllegalStateException("로그인이 필요합니다.");
+        log.debug("importProblems userId={} format={}", user.getId(), format);
+
+        Set<String> names = new HashSet<>(problemRepo.findNamesByUser(user));
+        List<Problem> batch = new ArrayList<>(BATCH_SIZE);
+        List<String> errors = new ArrayList<>();
+        int imported = 0, skipped = 0, lineNo = 0;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) continue;
+                if (format == Format.CSV && lineNo == 1 && isCsvHeader(line)) continue;
+                ProblemCreateRequest req;
+                try {
+                    req = format == Format.CSV ? parseCsv(line) : objectMapper.readValue(line, ProblemCreateRequest.class);
+                    validate(req);
+                } catch (Exception e) {
+                    if (errors.size() < MAX_ERRORS) errors.add("line " + lineNo + ": " + e.getMessage());
+                    continue;
+                }
+                if (!names.add(req.name().trim())) {
+                    skipped++;
+                    continue;
+                }
+                batch.add(reviewService.newProblem(user, req.number(), req.name(), req.category(), req.difficulty()));
+                if (batch.size() == BATCH_SIZE) {
+                    imported += flush(batch);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        imported += flush(batch);
+
+        // 대기열 캐시는 다음 조회 때 다시 채운다
+        dueQueue.evict(user.getId());
+        log.debug("importProblems done userId={} imported={} skipped={} errors={}", user.getId(), imported, skipped, errors.size());
+        return ImportResultDto.builder()
+                .imported(imported)
+                .skipped(skipped)
+                .errors(errors)
+                .build();
+    }
+
+    // 배치 저장 후 영속성 컨텍스트를 비워 메모리 사용을 배치 크기로 제한
+    private int flush(List<Problem> batch) {
+        if (batch.isEmpty()) return 0;
+        int n = batch.size();
+        problemRepo.saveAll(batch);
+        em.flush();
+        em.clear();
+        batch.clear();
+        return n;
+    }
+
+    private static void validate(ProblemCreateRequest req) {
+        if (req.name() == null || req.name().isBlank()) throw new IllegalArgumentException("이름 누락");
+        if (req.name().trim().length() > 200) throw new IllegalArgumentException("이름이 너무 깁니다");
+        if (req.difficulty() == null) throw new IllegalArgumentException("난이도 누락");
+    }
+
+    private static boolean isCsvHeader(String line) {
+        String l = line.trim().toLowerCase();
+        return l.startsWith("number") || l.startsWith("name");
+    }
+
+    private static ProblemCreateRequest parseCsv(String line) {
+        List<String> cols = splitCsv(line);
+        if (cols.size() < 4) throw new IllegalArgumentException("컬럼 수 부족 (number,name,category,difficulty)");
+        String number = cols.get(0).trim();
+        String category = cols.get(2).trim();
+        return new ProblemCreateRequest(
+                number.isEmpty() ? null : Integer.valueOf(number),
+                cols.get(1),
+                category.isEmpty() ? null : ProblemCategory.valueOf(category.toUpperCase()),
+                ProblemDifficulty.valueOf(cols.get(3).trim().toUpperCase()));
+    }
+
+    // 큰따옴표 인용("a,b", "" 이스케이프)을 지원하는 단순 CSV 분리
+    private static List<String> splitCsv(String line) {
+        List<String> cols = new ArrayList<>();
+        StringBuilder cur = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cur.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    cur.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                cols.add(cur.toString());
+                cur.setLength(0);
+            } else {
+                cur.append(c);
+            }
+        }
+        cols.add(cur.toString());
+        return cols;
+    }
+}
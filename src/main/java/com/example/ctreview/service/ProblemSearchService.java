@@ -0,0 +1,73 @@
+package com.example.ctreview.service;
+
+import com.example.ctreview.dto.ProblemPageDto;
+import com.example.ctreview.dto.ProblemSearchRequest;
+import com.example.ctreview.entity.ProblemStatus;
+import com.example.ctreview.entity.User;
+import com.example.ctreview.repository.ProblemRepository;
+import com.example.ctreview.repository.ProblemRow;
+import com.example.ctreview.repository.ProblemSearchCursor;
+import com.example.ctreview.repository.ProblemSort;
+import com.example.ctreview.repository.ProblemSpecifications;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 문제 검색. 필터/정렬/페이지네이션을 모두 DB 에서 처리하며 (정렬 키, id) 키셋 커서를 사용한다.
+ */
+@Service
+@Timed("ctreview.service")
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Slf4j
+public class ProblemSearchService {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final ProblemRepository problemRepo;
+
+    public ProblemPageDto search(User user, ProblemSearchRequest req) {
+        int size = pageSize(req.size());
+        ProblemSort sort = ProblemSort.fromParam(req.sort());
+        ProblemSearchCursor cursor = (req.cursor() == null || req.cursor().isBlank()) ? null : ProblemSearchCursor.decode(req.cursor());
+        log.debug("search userId={} sort={} size={} cursor={}", user != null ? user.getId() : null, sort, size, cursor);
+
+        // 구간(날짜 있음/없음)을 정렬 순서대로 이어서 조회. 다음 페이지 존재 여부 확인용으로 1건 더 조회
+        List<ProblemRow> rows = new ArrayList<>();
+        for (ProblemSort.Segment segment : segments(sort, ProblemSpecifications.status(req), cursor)) {
+            ProblemSearchCursor after = cursor != null && sort.segmentOf(cursor) == segment ? cursor : null;
+            rows.addAll(problemRepo.search(ProblemSpecifications.search(user, req, sort, segment, after), sort, segment,
+                    size + 1 - rows.size()));
+            if (rows.size() > size) break;
+        }
+        boolean hasNext = rows.size() > size;
+        List<ProblemRow> page = hasNext ? rows.subList(0, size) : rows;
+        return ProblemPageDto.builder()
+                .items(page.stream().map(ProblemRow::toDto).toList())
+                .nextCursor(hasNext ? ProblemSearchCursor.of(page.get(page.size() - 1)).encode() : null)
+                .build();
+    }
+
+    /**
+     * 조회할 구간: 커서가 있으면 그 구간부터. ACTIVE 는 항상 복습일이 있고 졸업 문제는 없으므로
+     * 상태가 정해지면 빈 구간은 건너뛴다 (상태 하나를 조회하는 요청은 쿼리 1회).
+     */
+    private static List<ProblemSort.Segment> segments(ProblemSort sort, ProblemStatus status, ProblemSearchCursor cursor) {
+        List<ProblemSort.Segment> segments = new ArrayList<>(sort.segments());
+        if (cursor != null) segments.subList(0, segments.indexOf(sort.segmentOf(cursor))).clear();
+        if (status == ProblemStatus.ACTIVE) segments.remove(ProblemSort.Segment.UNDATED);
+        if (status == ProblemStatus.GRADUATED) segments.remove(ProblemSort.Segment.DATED);
+        return segments;
+    }
+
+    private int pageSize(Integer size) {
+        if (size == null || size <= 0) return DEFAULT_PAGE_SIZE;
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+}
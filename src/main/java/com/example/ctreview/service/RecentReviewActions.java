@@ -0,0 +1,74 @@
+package com.example.ctreview.service;
+
+import com.example.ctreview.entity.ReviewAction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 오늘 커밋된 (문제, 처리) 기록. 중복 SOLVE/FAIL 을 DB 왕복 없이 먼저 걸러내는 용도이며,
+ * 여기 없다고 처리된 적이 없는 것은 아니다 (최종 판단은 review_logs 유니크 제약).
+ * 날짜가 바뀌거나 최대 개수를 넘으면 비운다.
+ */
+@Component
+public class RecentReviewActions {
+    private record Key(Long problemId, ReviewAction action) {}
+
+    private record Day(LocalDate date, Set<Key> keys) {}
+
+    private final Clock clock;
+    private final int maxEntries;
+    private volatile Day day;
+
+    public RecentReviewActions(Clock clock,
+                               @Value("${ctreview.recent-actions.max-entries:100000}") int maxEntries) {
+        this.clock = clock;
+        this.maxEntries = maxEntries;
+        this.day = new Day(LocalDate.now(clock), ConcurrentHashMap.newKeySet());
+    }
+
+    public boolean contains(Long problemId, ReviewAction action, LocalDate date) {
+        Day d = day;
+        return d.date().equals(date) && d.keys().contains(new Key(problemId, action));
+    }
+
+    /**
+     * 기록. 트랜잭션 안이면 커밋된 뒤에 반영된다 (롤백된 처리가 남지 않도록).
+     */
+    public void remember(Long problemId, ReviewAction action, LocalDate date) {
+        if (problemId == null) return;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(new Key(problemId, action), date);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(new Key(problemId, action), date);
+            }
+        });
+    }
+
+    private void add(Key key, LocalDate date) {
+        Day d = current();
+        if (!d.date().equals(date)) return;
+        if (d.keys().size() >= maxEntries) d.keys().clear();
+        d.keys().add(key);
+    }
+
+    private Day current() {
+        LocalDate today = LocalDate.now(clock);
+        Day d = day;
+        if (d.date().equals(today)) return d;
+        synchronized (this) {
+            if (!day.date().equals(today)) day = new Day(today, ConcurrentHashMap.newKeySet());
+            return day;
+        }
+    }
+}
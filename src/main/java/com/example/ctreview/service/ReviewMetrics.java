@@ -0,0 +1,93 @@
+package com.example.ctreview.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * 복습 도메인 지표 (처리 건수, 충돌/재시도, 오늘 목록 크기, 대시보드 단계별 시간, 롤오버).
+ */
+@Component
+@RequiredArgsConstructor
+public class ReviewMetrics {
+    private final MeterRegistry registry;
+
+    /**
+     * solve/fail/graduate 처리 건수. store 는 db 또는 session.
+     * 트랜잭션 안이면 커밋된 뒤에 센다 (롤백/재시도된 시도는 세지 않아 conflicts/actions 비율이 맞도록).
+     */
+    public void action(String action, String store) {
+        Counter counter = Counter.builder("ctreview.review.actions")
+                .tag("action", action)
+                .tag("store", store)
+                .register(registry);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            counter.increment();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                counter.increment();
+            }
+        });
+    }
+
+    /**
+     * 낙관적 잠금 충돌. outcome 은 retried(재시도함) 또는 exhausted(재시도 소진, 409 응답).
+     */
+    public void conflict(String action, String outcome) {
+        Counter.builder("ctreview.review.conflicts")
+                .tag("action", action)
+                .tag("outcome", outcome)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * 같은 Idempotency-Key 로 다시 들어와 저장된 결과를 돌려준 횟수.
+     */
+    public void idempotentReplay() {
+        Counter.builder("ctreview.review.idempotent.replays").register(registry).increment();
+    }
+
+    public void todaySize(int size) {
+        DistributionSummary.builder("ctreview.review.today.size")
+                .description("Problems due in the today list")
+                .register(registry)
+                .record(size);
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    /**
+     * 대시보드 요약의 단계별 소요 시간. 반환된 새 샘플로 다음 단계를 잰다.
+     */
+    public Timer.Sample summaryPhase(Timer.Sample sample, String phase) {
+        sample.stop(Timer.builder("ctreview.dashboard.summary")
+                .tag("phase", phase)
+                .register(registry));
+        return Timer.start(registry);
+    }
+
+    /**
+     * 접근 시(lazy) 사용자 단위 롤오버로 밀린 행 수.
+     */
+    public void lazyRollover(int rows) {
+        Counter.builder("ctreview.rollover.lazy.rows").register(registry).increment(rows);
+    }
+
+    public void rollover(int rows, Duration elapsed) {
+        Counter.builder("ctreview.rollover.rows").register(registry).increment(rows);
+        Timer.builder("ctreview.rollover.duration").register(registry).record(elapsed);
+    }
+}
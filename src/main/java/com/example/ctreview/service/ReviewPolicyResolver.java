@@ -0,0 +1,24 @@
+package com.example.ctreview.service;
+
+import com.example.ctreview.entity.AdaptiveReviewPolicy;
+import com.example.ctreview.entity.DifficultyReviewPolicy;
+import com.example.ctreview.entity.ReviewPolicy;
+import com.example.ctreview.entity.SchedulingMode;
+import com.example.ctreview.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 사용자 설정(schedulingMode)에 맞는 복습 정책을 고른다. 비로그인은 항상 고정 정책.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReviewPolicyResolver {
+    private final DifficultyReviewPolicy fixedPolicy;
+    private final AdaptiveReviewPolicy adaptivePolicy;
+
+    public ReviewPolicy resolve(User user) {
+        if (user != null && user.effectiveSchedulingMode() == SchedulingMode.ADAPTIVE) return adaptivePolicy;
+        return fixedPolicy;
+    }
+}
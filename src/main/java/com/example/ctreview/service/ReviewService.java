@@ -1,27 +1,40 @@
 package com.example.ctreview.service;
 
+import com.example.ctreview.dto.ProblemDto;
+import com.example.ctreview.dto.ReviewBatchRequest;
+import com.example.ctreview.dto.ReviewBatchResultDto;
 import com.example.ctreview.entity.*;
 import com.example.ctreview.repository.ProblemRepository;
 import com.example.ctreview.repository.ReviewLogRepository;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.*;
 import java.time.Clock;
-import java.util.List;
-import java.util.NoSuchElementException;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Timed("ctreview.service")
 @RequiredArgsConstructor
 @Transactional
 @Slf4j
 public class ReviewService {
+    private static final String LOG_UNIQUE_CONSTRAINT = "ux_log_problem_date_action";
+
     private final ProblemRepository problemRepo;
     private final ReviewLogRepository logRepo;
-    private final ReviewPolicy reviewPolicy;
+    private final DailyActivityService activityService;
+    private final ReviewPolicyResolver policyResolver;
+    private final DueQueueCache dueQueue;
+    private final RecentReviewActions recentActions;
+    private final ReviewMetrics metrics;
     private final Clock clock;
 
     private LocalDate today() {
@@ -32,11 +45,26 @@ public class ReviewService {
         return LocalDateTime.now(clock);
     }
 
+    private static Long userId(User user) {
+        return user != null ? user.getId() : null;
+    }
+
     @Transactional
     public Problem createProblem(User user, Integer number, String name,
                                  ProblemCategory category, ProblemDifficulty difficulty) {
         log.debug("createProblem userId={} number={} name={}", user != null ? user.getId() : null, number, name);
         if (problemRepo.existsByNameAndUser(name.trim(), user)) throw new IllegalStateException("이미 존재하는 문제 이름");
+        var p = newProblem(user, number, name, category, difficulty);
+        Problem saved = problemRepo.save(p);
+        dueQueue.update(userId(user), saved);
+        return saved;
+    }
+
+    /**
+     * 저장 전의 새 문제를 첫 복습 일정과 함께 만든다 (중복 검사는 호출자 책임).
+     */
+    public Problem newProblem(User user, Integer number, String name,
+                              ProblemCategory category, ProblemDifficulty difficulty) {
         var p = new Problem();
         p.setUser(user);
         p.setNumber(number);
@@ -46,9 +74,10 @@ public class ReviewService {
         p.setReviewStep(1);
         p.setReviewCount(0); // 현재 간격 인덱스
         p.setStatus(ProblemStatus.ACTIVE);
-        scheduleNextReview(p, now());
-        return problemRepo.save(p);
+        policyResolver.resolve(user).onCreate(p, now());
+        return p;
     }
+
     public Problem getByNameOrThrow(User user, String name) {
         return problemRepo.findByNameAndUser(name.trim(), user)
                 .orElseThrow(() -> new NoSuchElementException("문제 미존재(이름)"));
@@ -61,60 +90,215 @@ public class ReviewService {
         return list.get(0);
     }
 
-    public List<Problem> listToday(User user) {
+    @Transactional(readOnly = true)
+    public List<ProblemDto> listToday(User user) {
         log.debug("listToday userId={}", user != null ? user.getId() : null);
-        return problemRepo.findByUserAndStatusAndNextReviewDateLessThanEqualOrderByReviewStepDesc(user, ProblemStatus.ACTIVE, now());
+        if (user == null) {
+            return problemRepo.findByUserAndStatusAndNextReviewDateLessThanEqualOrderByReviewStepDesc(null, ProblemStatus.ACTIVE, now())
+                    .stream().map(ProblemDto::from).toList();
+        }
+        // 사용자별 대기열 캐시에서 응답 (캐시 미스 시에만 DB 조회)
+        var due = dueQueue.listDue(user.getId(), now(),
+                () -> problemRepo.findRowsByUserAndStatus(user, ProblemStatus.ACTIVE));
+        metrics.todaySize(due.size());
+        return due;
     }
 
-    public List<Problem> listAllActiveOrderByDate(User user) {
+    /**
+     * 현재 복습 대상 수 (대기열 캐시 기준). 시간이 지나 대상이 늘어난 것을 ETag 에 반영하는 데 쓴다.
+     */
+    @Transactional(readOnly = true)
+    public int countToday(User user) {
+        return dueQueue.countDue(user.getId(), now(),
+                () -> problemRepo.findRowsByUserAndStatus(user, ProblemStatus.ACTIVE));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProblemDto> listAllActiveOrderByDate(User user) {
         log.debug("listAllActiveOrderByDate userId={}", user != null ? user.getId() : null);
-        return problemRepo.findByUserAndStatusOrderByNextReviewDateAsc(user, ProblemStatus.ACTIVE);
+        if (user == null) {
+            return problemRepo.findByUserAndStatusOrderByNextReviewDateAsc(null, ProblemStatus.ACTIVE)
+                    .stream().map(ProblemDto::from).toList();
+        }
+        return problemRepo.findDtosByUserAndStatus(user, ProblemStatus.ACTIVE);
     }
     public Problem solve(User user, String name) {
         log.debug("solve userId={} name={}", user != null ? user.getId() : null, name);
         Problem p = getByNameOrThrow(user, name);
-        // 하루 1회 중복 처리 방지 (Solve)
-        if (logRepo.existsByProblemAndActionDateAndAction(p, today(), ReviewAction.SOLVE)) {
-            throw new IllegalStateException("오늘은 이미 SOLVE 처리되었습니다.");
-        }
-        var beforeStep = p.getReviewStep();
-        var beforeCount = p.getReviewCount();
-
-        // 다음 간격으로 이동
-        p.setReviewCount(p.getReviewCount() + 1);
-        scheduleNextReview(p, now());
-
-        writeLog(p, ReviewAction.SOLVE, beforeStep, beforeCount);
+        // 하루 1회 중복 처리 방지 (Solve): 메모리 기록으로 먼저 거르고, 최종 판단은 insert 시 유니크 제약
+        if (recentActions.contains(p.getId(), ReviewAction.SOLVE, today())) throw alreadyDone(ReviewAction.SOLVE);
+        insertLog(applySolve(user, p));
+        dueQueue.update(userId(user), p);
+        metrics.action("solve", "db");
         return p;
     }
 
     public Problem fail(User user, String name) {
         log.debug("fail userId={} name={}", user != null ? user.getId() : null, name);
         Problem p = getByNameOrThrow(user, name);
-        // 하루 1회 중복 처리 방지 (Fail)
-        if (logRepo.existsByProblemAndActionDateAndAction(p, today(), ReviewAction.FAIL)) {
-            throw new IllegalStateException("오늘은 이미 FAIL 처리되었습니다.");
+        // 하루 1회 중복 처리 방지 (Fail): 메모리 기록으로 먼저 거르고, 최종 판단은 insert 시 유니크 제약
+        if (recentActions.contains(p.getId(), ReviewAction.FAIL, today())) throw alreadyDone(ReviewAction.FAIL);
+        insertLog(applyFail(user, p));
+        dueQueue.update(userId(user), p);
+        metrics.action("fail", "db");
+        return p;
+    }
+
+    /**
+     * 여러 문제의 SOLVE/FAIL/GRADUATE 를 한 트랜잭션에서 처리한다.
+     * 문제/오늘 처리 내역은 각각 1회 조회하고, 로그는 JDBC 배치로 저장한다. 항목별 실패는 결과로만 보고된다.
+     */
+    public ReviewBatchResultDto applyBatch(User user, List<ReviewBatchRequest.Item> items) {
+        log.debug("applyBatch userId={} size={}", user != null ? user.getId() : null, items.size());
+        Set<String> names = items.stream().map(i -> i.name().trim()).collect(Collectors.toSet());
+        Map<String, Problem> byName = problemRepo.findByUserAndNameIn(user, names).stream()
+                .collect(Collectors.toMap(Problem::getName, Function.identity()));
+        Set<String> done = new HashSet<>();
+        if (!byName.isEmpty()) {
+            logRepo.findActionKeys(byName.values(), today())
+                    .forEach(k -> done.add(actionKey(k.getProblemId(), k.getAction())));
+        }
+
+        List<ReviewLog> logs = new ArrayList<>();
+        List<ReviewBatchResultDto.ItemResult> results = new ArrayList<>();
+        for (var item : items) {
+            Problem p = byName.get(item.name().trim());
+            if (p == null) {
+                results.add(ReviewBatchResultDto.ItemResult.error(item.name(), item.action(), "문제 미존재(이름)"));
+                continue;
+            }
+            switch (item.action()) {
+                case SOLVE, FAIL -> {
+                    ReviewAction action = item.action() == ReviewBatchRequest.Action.SOLVE ? ReviewAction.SOLVE : ReviewAction.FAIL;
+                    if (!done.add(actionKey(p.getId(), action))) {
+                        results.add(ReviewBatchResultDto.ItemResult.error(item.name(), item.action(), "오늘은 이미 " + action + " 처리되었습니다."));
+                        continue;
+                    }
+                    logs.add(action == ReviewAction.SOLVE ? applySolve(user, p) : applyFail(user, p));
+                }
+                case GRADUATE -> {
+                    if (p.getStatus() != ProblemStatus.GRADUATED) {
+                        ReviewLog graduateLog = applyGraduate(p);
+                        // 오늘 이미 SOLVE 로그가 있으면 (problem, date, action) 유니크 제약 때문에 로그는 생략
+                        if (done.add(actionKey(p.getId(), ReviewAction.SOLVE))) logs.add(graduateLog);
+                    }
+                }
+            }
+            dueQueue.update(userId(user), p);
+            metrics.action(item.action().name().toLowerCase(), "db");
+            results.add(ReviewBatchResultDto.ItemResult.ok(item.name(), item.action(), item.action() + " 완료", ProblemDto.from(p)));
         }
+
+        insertLogs(logs);
+        int solves = (int) logs.stream().filter(l -> l.getAction() == ReviewAction.SOLVE).count();
+        activityService.record(user, today(), solves, logs.size() - solves);
+
+        int ok = (int) results.stream().filter(ReviewBatchResultDto.ItemResult::ok).count();
+        return ReviewBatchResultDto.builder()
+                .succeeded(ok)
+                .failed(results.size() - ok)
+                .results(results)
+                .build();
+    }
+
+    private static String actionKey(Long problemId, ReviewAction action) {
+        return problemId + ":" + action;
+    }
+
+    // 다음 간격으로 이동 (정책은 사용자 설정에 따름)
+    private ReviewLog applySolve(User user, Problem p) {
         var beforeStep = p.getReviewStep();
         var beforeCount = p.getReviewCount();
+        policyResolver.resolve(user).onSolve(p, now());
+        return buildLog(p, ReviewAction.SOLVE, beforeStep, beforeCount);
+    }
 
-        // 실패는 현재 간격을 한 번 더 유지
-        scheduleNextReviewOnFail(p, now());
+    // 실패는 현재 간격을 한 번 더 유지
+    private ReviewLog applyFail(User user, Problem p) {
+        var beforeStep = p.getReviewStep();
+        var beforeCount = p.getReviewCount();
+        policyResolver.resolve(user).onFail(p, now());
+        return buildLog(p, ReviewAction.FAIL, beforeStep, beforeCount);
+    }
 
-        writeLog(p, ReviewAction.FAIL, beforeStep, beforeCount);
-        return p;
+    private ReviewLog applyGraduate(Problem p) {
+        var beforeStep = p.getReviewStep();
+        var beforeCount = p.getReviewCount();
+        p.graduate();
+        return buildLog(p, ReviewAction.SOLVE, beforeStep, beforeCount);
     }
 
-    private void writeLog(Problem p, ReviewAction action, int beforeStep, int beforeCount) {
-        logRepo.save(ReviewLog.builder()
+    private ReviewLog buildLog(Problem p, ReviewAction action, int beforeStep, int beforeCount) {
+        return ReviewLog.builder()
                 .problem(p)
+                .user(p.getUser())
                 .action(action)
                 .actionDate(today())
                 .beforeStep(beforeStep)
                 .beforeReviewCount(beforeCount)
                 .afterStep(p.getReviewStep())
                 .afterReviewCount(p.getReviewCount())
-                .build());
+                .build();
+    }
+
+    /**
+     * 중복 확인 조회 없이 바로 insert(flush) 하고, (problem, date, action) 유니크 제약 위반이면
+     * "이미 처리" 오류로 바꾼다. 예외가 트랜잭션 밖으로 나가므로 문제 변경도 함께 롤백된다.
+     */
+    private void insertLog(ReviewLog reviewLog) {
+        try {
+            logRepo.saveAndFlush(reviewLog);
+        } catch (DataIntegrityViolationException e) {
+            if (!isDuplicateAction(e)) throw e;
+            throw alreadyDone(reviewLog.getAction());
+        }
+        recentActions.remember(reviewLog.getProblem().getId(), reviewLog.getAction(), reviewLog.getActionDate());
+        activityService.record(reviewLog.getUser(), reviewLog.getAction(), reviewLog.getActionDate());
+    }
+
+    /**
+     * 배치 로그를 JDBC 배치로 insert(flush) 한다. 조회 이후 다른 요청이 같은 (problem, date, action) 을
+     * 먼저 커밋했다면 유니크 제약 위반을 "이미 처리" 오류로 바꾸고 배치 전체를 롤백한다
+     * (다시 요청하면 해당 항목만 항목별 실패로 보고된다).
+     */
+    private void insertLogs(List<ReviewLog> logs) {
+        if (logs.isEmpty()) return;
+        try {
+            logRepo.saveAllAndFlush(logs);
+        } catch (DataIntegrityViolationException e) {
+            if (!isDuplicateAction(e)) throw e;
+            throw new IllegalStateException("오늘 이미 처리된 항목이 있어 일괄 처리를 취소했습니다. 다시 시도해 주세요.");
+        }
+        logs.forEach(l -> recentActions.remember(l.getProblem().getId(), l.getAction(), l.getActionDate()));
+    }
+
+    // 제약 이름으로 판단 (H2 는 "PUBLIC.UX_..._INDEX_A" 처럼 붙여 주므로 포함 여부로). 이름을 못 얻으면 드라이버 메시지로
+    private static boolean isDuplicateAction(DataIntegrityViolationException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof ConstraintViolationException cve && cve.getConstraintName() != null) {
+                return isLogConstraint(cve.getConstraintName());
+            }
+        }
+        String msg = e.getMostSpecificCause().getMessage();
+        return msg != null && isLogConstraint(msg);
+    }
+
+    private static boolean isLogConstraint(String s) {
+        return s.toLowerCase(Locale.ROOT).contains(LOG_UNIQUE_CONSTRAINT);
+    }
+
+    private static IllegalStateException alreadyDone(ReviewAction action) {
+        return new IllegalStateException("오늘은 이미 " + action + " 처리되었습니다.");
+    }
+
+    /**
+     * 적응형 스케줄링으로 바꿀 때 호출한다. 이전에 적응형으로 처리하며 남은 ease/간격을 지워
+     * 다음 처리 때 현재 복습 위치에서 다시 계산하게 한다.
+     */
+    public int resetAdaptiveState(User user) {
+        int n = problemRepo.resetAdaptiveState(user);
+        log.debug("resetAdaptiveState userId={} problems={}", user.getId(), n);
+        return n;
     }
 
     public Optional<Problem> findOptionalByNumber(User user, int number) {
@@ -126,37 +310,7 @@ public class ReviewService {
         Problem problem = problemRepo.findByNameAndUser(name, user)
                 .orElseThrow(() -> new NoSuchElementException("해당 이름의 문제가 없습니다."));
         problemRepo.delete(problem);
-    }
-
-    private void scheduleNextReview(Problem p, LocalDateTime base) {
-        int[] intervals = reviewPolicy.intervals(p.getDifficulty());
-        int index = p.getReviewCount();
-        if (index >= intervals.length) {
-            p.graduate();
-            return;
-        }
-        p.setReviewStep(reviewPolicy.step(p.getDifficulty(), index));
-        int amt = intervals[index];
-        var unit = reviewPolicy.unit();
-        activate(p, base.plus(amt, unit));
-    }
-
-    private void scheduleNextReviewOnFail(Problem p, LocalDateTime base) {
-        int[] intervals = reviewPolicy.intervals(p.getDifficulty());
-        int index = p.getReviewCount();
-        if (intervals.length == 0) {
-            return;
-        }
-        if (index >= intervals.length) index = intervals.length - 1;
-        p.setReviewStep(reviewPolicy.step(p.getDifficulty(), index));
-        int amt = intervals[index];
-        var unit = reviewPolicy.unit();
-        activate(p, base.plus(amt, unit));
-    }
-
-    private void activate(Problem p, LocalDateTime next) {
-        p.setNextReviewDate(next);
-        p.setStatus(ProblemStatus.ACTIVE);
+        dueQueue.remove(userId(user), problem.getId());
     }
 
     @Transactional
@@ -169,12 +323,15 @@ public class ReviewService {
             return p;
         }
 
-        var beforeStep = p.getReviewStep();
-        var beforeCount = p.getReviewCount();
-
-        p.graduate();
-
-        writeLog(p, ReviewAction.SOLVE, beforeStep, beforeCount);
+        ReviewLog graduateLog = applyGraduate(p);
+        // 오늘 이미 SOLVE 로그가 있으면 유니크 제약 때문에 로그는 생략 (일괄 처리와 동일).
+        // 확인과 insert 사이에 다른 요청이 SOLVE 하면 insertLog 가 "이미 처리" 오류로 롤백한다 (재시도하면 로그 없이 졸업)
+        if (!recentActions.contains(p.getId(), ReviewAction.SOLVE, today())
+                && !logRepo.existsByProblemAndActionDateAndAction(p, today(), ReviewAction.SOLVE)) {
+            insertLog(graduateLog);
+        }
+        dueQueue.update(userId(user), p);
+        metrics.action("graduate", "db");
         return p;
     }
 
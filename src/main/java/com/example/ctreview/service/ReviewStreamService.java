@@ -0,0 +1,295 @@
+package com.example.ctreview.service;
+
+import com.example.ctreview.entity.ProblemStatus;
+import com.example.ctreview.entity.User;
+import com.example.ctreview.repository.ProblemRepository;
+import com.example.ctreview.repository.ProblemRow;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 복습 알림 SSE 스트림.
+ * 스트림이 열린 사용자마다 "다음 복습 대상 시각" 하나만 DelayQueue 에 올려 두고,
+ * 그 시각이 되면 새로 대상이 된 문제를 "due" 이벤트로 보낸 뒤 다음 시각을 다시 예약한다.
+ * 문제/로그 변경이 커밋되면 "today-changed" 이벤트를 보내고 예약을 갱신한다.
+ * DB 조회는 dispatcher 스레드에서 하므로 쓰기 요청(커밋 스레드)은 SSE 클라이언트를 기다리지 않고,
+ * 실제 전송은 연결별 제한된 대기열을 sender 스레드가 비우는 방식이라 느린 연결이 dispatcher 나 다른 연결을 막지 않는다.
+ */
+@Service
+@Slf4j
+public class ReviewStreamService {
+
+    private static final class UserStream {
+        final User user;
+        final Set<Client> emitters = new CopyOnWriteArraySet<>();
+        final AtomicLong token = new AtomicLong(); // 예약이 바뀌면 이전 Wakeup 은 무시
+        final AtomicBoolean changed = new AtomicBoolean(); // 변경 알림 대기 중 (여러 커밋은 한 번으로 합친다)
+        LocalDateTime lastCheck;
+        Wakeup pending;
+
+        UserStream(User user, LocalDateTime now) {
+            this.user = user;
+            this.lastCheck = now;
+        }
+    }
+
+    // 연결 하나의 전송 대기열. 대기열이 차면(소비하지 못하는 연결) 닫아서 브라우저가 다시 연결하게 한다
+    private final class Client {
+        final Long userId;
+        final SseEmitter emitter;
+        final BlockingQueue<SseEmitter.SseEventBuilder> outbox;
+        final AtomicBoolean draining = new AtomicBoolean();
+
+        Client(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.outbox = new ArrayBlockingQueue<>(outboxSize);
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (!outbox.offer(event)) {
+                log.debug("stream outbox full userId={}", userId);
+                close();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) submit();
+        }
+
+        private void submit() {
+            try {
+                sender.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false); // 종료 중
+            }
+        }
+
+        private void drain() {
+            try {
+                for (SseEmitter.SseEventBuilder event; (event = outbox.poll()) != null; ) {
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        // 끊긴 연결: 정리 콜백이 호출되지 않을 수 있으므로 직접 제거
+                        unsubscribe(userId, this);
+                        outbox.clear();
+                        return;
+                    }
+                }
+            } finally {
+                draining.set(false);
+            }
+            // 비우는 사이 들어온 이벤트
+            if (!outbox.isEmpty() && draining.compareAndSet(false, true)) submit();
+        }
+
+        // complete 도 막힌 전송과 같은 잠금을 기다릴 수 있으므로 sender 에서 닫는다
+        void close() {
+            unsubscribe(userId, this);
+            outbox.clear();
+            try {
+                sender.execute(emitter::complete);
+            } catch (RejectedExecutionException e) {
+                // 종료 중: stop() 이 닫는다
+            }
+        }
+    }
+
+    // changed=true 는 커밋된 변경 알림 (즉시 실행, 토큰 무시)
+    private record Wakeup(Long userId, long token, long atMillis, Clock clock, boolean changed) implements Delayed {
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(atMillis - clock.millis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            return Long.compare(atMillis, ((Wakeup) o).atMillis);
+        }
+    }
+
+    private final Map<Long, UserStream> streams = new ConcurrentHashMap<>();
+    private final DelayQueue<Wakeup> wakeups = new DelayQueue<>();
+    private final DueQueueCache dueQueue;
+    private final ProblemRepository problemRepo;
+    private final Clock clock;
+    private final Duration timeout;
+    private final int outboxSize;
+    private final ThreadPoolExecutor sender;
+    private Thread dispatcher;
+
+    public ReviewStreamService(DueQueueCache dueQueue, ProblemRepository problemRepo, Clock clock,
+                               @Value("${ctreview.stream.timeout:30m}") Duration timeout,
+                               @Value("${ctreview.stream.send-threads:2}") int sendThreads,
+                               @Value("${ctreview.stream.outbox-size:16}") int outboxSize) {
+        this.dueQueue = dueQueue;
+        this.problemRepo = problemRepo;
+        this.clock = clock;
+        this.timeout = timeout;
+        this.outboxSize = outboxSize;
+        // 연결마다 drain 작업은 최대 하나라 작업 대기열은 연결 수를 넘지 않는다
+        AtomicInteger seq = new AtomicInteger();
+        this.sender = new ThreadPoolExecutor(sendThreads, sendThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                r -> {
+                    Thread t = new Thread(r, "review-stream-sender-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    public SseEmitter subscribe(User user) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Long userId = user.getId();
+        Client client = new Client(userId, emitter);
+        // 등록과 "새 스트림인지" 판단은 compute 안에서: unsubscribe 가 빈 스트림을 지우는 것과 엇갈려 emitter 가
+        // 고아가 되지 않고, 동시에 열린 두 탭 중 정확히 한 쪽만 첫 예약을 한다
+        AtomicBoolean created = new AtomicBoolean();
+        UserStream stream = streams.compute(userId, (k, s) -> {
+            UserStream st = s;
+            if (st == null) {
+                st = new UserStream(user, now());
+                created.set(true);
+            }
+            st.emitters.add(client);
+            return st;
+        });
+        Runnable cleanup = () -> unsubscribe(userId, client);
+        emitter.onCompletion(cleanup);
+        emitter.onTimeout(cleanup);
+        emitter.onError(e -> cleanup.run());
+        if (created.get()) {
+            synchronized (stream) {
+                reschedule(stream);
+            }
+        }
+        log.debug("stream subscribe userId={} emitters={}", userId, stream.emitters.size());
+        return emitter;
+    }
+
+    private void unsubscribe(Long userId, Client client) {
+        streams.computeIfPresent(userId, (k, s) -> {
+            s.emitters.remove(client);
+            return s.emitters.isEmpty() ? null : s;
+        });
+    }
+
+    public int openStreams() {
+        return streams.values().stream().mapToInt(s -> s.emitters.size()).sum();
+    }
+
+    /**
+     * 커밋 스레드에서 불린다. 즉시 실행 Wakeup 만 넣고 실제 처리는 dispatcher 에 맡긴다.
+     */
+    @EventListener
+    public void onDataChanged(UserDataChangedEvent event) {
+        UserStream stream = streams.get(event.userId());
+        if (stream == null || !stream.changed.compareAndSet(false, true)) return;
+        wakeups.add(new Wakeup(event.userId(), 0, clock.millis(), clock, true));
+    }
+
+    private void fire(Wakeup w) {
+        UserStream stream = streams.get(w.userId());
+        if (w.changed()) {
+            if (stream != null) changed(stream);
+            return;
+        }
+        if (stream == null || stream.token.get() != w.token()) return;
+        synchronized (stream) {
+            if (stream.token.get() != w.token()) return;
+            LocalDateTime now = now();
+            var due = dueQueue.dueBetween(w.userId(), stream.lastCheck, now, loader(stream));
+            stream.lastCheck = now;
+            if (!due.isEmpty()) send(stream, "due", due);
+            reschedule(stream);
+        }
+    }
+
+    private void changed(UserStream stream) {
+        synchronized (stream) {
+            stream.changed.set(false); // 이후 커밋은 새 알림으로
+            stream.lastCheck = now();
+            send(stream, "today-changed", Map.of("dueCount", dueQueue.countDue(stream.user.getId(), stream.lastCheck, loader(stream))));
+            reschedule(stream);
+        }
+    }
+
+    private void reschedule(UserStream stream) {
+        long token = stream.token.incrementAndGet();
+        if (stream.pending != null) wakeups.remove(stream.pending);
+        stream.pending = dueQueue.nextDueAfter(stream.user.getId(), stream.lastCheck, loader(stream))
+                .map(at -> new Wakeup(stream.user.getId(), token, at.atZone(clock.getZone()).toInstant().toEpochMilli(), clock, false))
+                .orElse(null);
+        if (stream.pending != null) wakeups.add(stream.pending);
+    }
+
+    private Supplier<List<ProblemRow>> loader(UserStream stream) {
+        return () -> problemRepo.findRowsByUserAndStatus(stream.user, ProblemStatus.ACTIVE);
+    }
+
+    // 연결별 대기열에 넣기만 한다 (이벤트 빌더는 전송 시 변경되므로 연결마다 새로 만든다)
+    private void send(UserStream stream, String name, Object data) {
+        for (Client client : stream.emitters) {
+            client.offer(SseEmitter.event().name(name).data(data));
+        }
+    }
+
+    // 프록시/로드밸런서의 유휴 연결 종료 방지
+    @Scheduled(fixedDelayString = "${ctreview.stream.heartbeat:PT25S}")
+    public void heartbeat() {
+        for (UserStream stream : streams.values()) {
+            for (Client client : stream.emitters) {
+                client.offer(SseEmitter.event().comment("hb"));
+            }
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        dispatcher = new Thread(this::dispatch, "review-stream-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        dispatcher.interrupt();
+        sender.shutdownNow();
+        streams.values().forEach(s -> s.emitters.forEach(c -> c.emitter.complete()));
+        streams.clear();
+    }
+
+    private void dispatch() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                fire(wakeups.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.warn("stream dispatch failed", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.ctreview.service;
+
+import com.example.ctreview.entity.Problem;
+import com.example.ctreview.entity.ProblemStatus;
+import com.example.ctreview.entity.ReviewPolicy;
+import com.example.ctreview.repository.ProblemRepository;
+import com.example.ctreview.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * 밀린 복습일 롤오버.
+ * GLOBAL: 매일 RolloverJob 이 전체 문제를 청크 단위로 처리한다.
+ * LAZY: 사용자의 그날 첫 요청 때 그 사용자 문제만 처리하고(User.lastRolledDate), 작업은 최근 활동 사용자만 소량씩 미리 처리한다.
+ */
+@Service
+@Slf4j
+public class RolloverService {
+    public enum Mode { GLOBAL, LAZY }
+
+    private final ProblemRepository problemRepo;
+    private final UserRepository userRepo;
+    private final ReviewPolicy reviewPolicy;
+    private final DueQueueCache dueQueue;
+    private final ReviewMetrics metrics;
+    private final TransactionTemplate tx;
+    private final Clock clock;
+    private final Mode mode;
+
+    public RolloverService(ProblemRepository problemRepo, UserRepository userRepo, ReviewPolicy reviewPolicy,
+                           DueQueueCache dueQueue, ReviewMetrics metrics, TransactionTemplate tx, Clock clock,
+                           @Value("${ctreview.rollover.mode:LAZY}") Mode mode) {
+        this.problemRepo = problemRepo;
+        this.userRepo = userRepo;
+        this.reviewPolicy = reviewPolicy;
+        this.dueQueue = dueQueue;
+        this.metrics = metrics;
+        this.tx = tx;
+        this.clock = clock;
+        this.mode = mode;
+    }
+
+    public Mode mode() {
+        return mode;
+    }
+
+    /**
+     * LAZY 모드에서 사용자의 오늘 롤오버를 보장하고, 적용된 마지막 롤오버 날짜를 돌려준다.
+     * 이미 했으면 (호출자가 가진 lastRolledDate 기준) 쿼리 없이 그대로 돌려준다.
+     */
+    public LocalDate ensureRolled(Long userId, LocalDate lastRolledDate) {
+        if (mode != Mode.LAZY || userId == null) return lastRolledDate;
+        LocalDate today = LocalDate.now(clock);
+        if (today.equals(lastRolledDate)) return lastRolledDate;
+        rollUser(userId, today);
+        return today;
+    }
+
+    /**
+     * 한 사용자의 밀린 문제를 한 트랜잭션으로 롤오버한다. 다른 요청/노드가 이미 했으면 -1.
+     */
+    public int rollUser(Long userId, LocalDate today) {
+        Integer shifted = tx.execute(status -> {
+            if (userRepo.markRolled(userId, today) == 0) return -1;
+            LocalDateTime now = LocalDateTime.now(clock);
+            ChronoUnit unit = reviewPolicy.unit();
+            List<Problem> overdue = problemRepo.findOverdueByUser(userRepo.getReferenceById(userId),
+                    ProblemStatus.ACTIVE, now.minus(1, unit));
+            int n = 0;
+            for (Problem p : overdue) {
+                if (shift(p, now, unit)) {
+                    dueQueue.update(userId, p);
+                    n++;
+                }
+            }
+            return n;
+        });
+        int rows = shifted == null ? -1 : shifted;
+        if (rows > 0) metrics.lazyRollover(rows);
+        log.debug("rollUser userId={} shifted={}", userId, rows);
+        return rows;
+    }
+
+    /**
+     * 밀린 만큼 다음 복습일을 now 쪽으로 당긴 날짜 단위로 민다. 바뀌었으면 true.
+     */
+    public static boolean shift(Problem p, LocalDateTime now, ChronoUnit unit) {
+        long missed = unit.between(p.getNextReviewDate(), now);
+        if (missed <= 0) return false;
+        p.setNextReviewDate(p.getNextReviewDate().plus(missed, unit));
+        return true;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.ctreview.service;
+
+import com.example.ctreview.dto.SessionMigrationResultDto;
+import com.example.ctreview.entity.Problem;
+import com.example.ctreview.entity.User;
+import com.example.ctreview.repository.ProblemRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.servlet.http.HttpSession;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 로그인/가입 시 비로그인 세션 문제를 계정으로 옮긴다.
+ * 한 트랜잭션에서 기존 이름을 1회 조회해 충돌을 거르고 saveAll 로 배치 insert 하며,
+ * 복습 단계/횟수/다음 복습일/상태는 그대로 유지한다.
+ */
+@Service
+@Timed("ctreview.service")
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class SessionMigrationService {
+    private final SessionReviewService sessionReviewService;
+    private final ProblemRepository problemRepo;
+    private final DueQueueCache dueQueue;
+
+    public SessionMigrationResultDto migrate(HttpSession session, User user) {
+        List<Problem> problems = sessionReviewService.listAll(session);
+        if (problems.isEmpty()) return SessionMigrationResultDto.EMPTY;
+        log.debug("migrate session problems userId={} count={}", user.getId(), problems.size());
+
+        Set<String> names = new HashSet<>(problemRepo.findNamesByUser(user));
+        List<Problem> toSave = new ArrayList<>(problems.size());
+        List<String> skipped = new ArrayList<>();
+        for (Problem p : problems) {
+            if (!names.add(p.getName())) { // 계정 쪽 문제를 우선
+                skipped.add(p.getName());
+                continue;
+            }
+            p.setId(null);
+            p.setVersion(null);
+            p.setUser(user);
+            toSave.add(p);
+        }
+        problemRepo.saveAll(toSave);
+        dueQueue.evict(user.getId());
+
+        // 롤백되면 세션 문제를 남겨 다음 로그인 때 다시 시도
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                sessionReviewService.clear(session);
+            }
+        });
+        return new SessionMigrationResultDto(toSave.size(), skipped);
+    }
+}
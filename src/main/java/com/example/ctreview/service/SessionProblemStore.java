@@ -0,0 +1,173 @@
+package com.example.ctreview.service;
+
+import com.example.ctreview.entity.*;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * 비로그인 사용자의 세션 문제 저장소.
+ * 문제 상태를 고정 크기 레코드로 ByteBuffer(힙 또는 off-heap direct)에 저장하고 이름 → 슬롯 인덱스로 찾는다.
+ * JPA 엔티티는 보관하지 않으며, 조회 시에만 임시 Problem 객체를 만든다.
+ */
+public class SessionProblemStore implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    // 레코드 레이아웃 (24 bytes)
+    private static final int NUMBER = 0;        // int, 없으면 NO_NUMBER
+    private static final int CATEGORY = 4;      // byte, 없으면 -1
+    private static final int DIFFICULTY = 5;   // byte
+    private static final int STATUS = 6;       // byte
+    private static final int REVIEW_STEP = 8;  // int
+    private static final int REVIEW_COUNT = 12; // int
+    private static final int NEXT_REVIEW = 16;  // long (UTC epoch seconds), 없으면 NO_DATE
+    private static final int RECORD_SIZE = 24;
+
+    private static final int NO_NUMBER = Integer.MIN_VALUE;
+    private static final long NO_DATE = Long.MIN_VALUE;
+    private static final int INITIAL_CAPACITY = 8;
+
+    private static final ProblemCategory[] CATEGORIES = ProblemCategory.values();
+    private static final ProblemDifficulty[] DIFFICULTIES = ProblemDifficulty.values();
+    private static final ProblemStatus[] STATUSES = ProblemStatus.values();
+
+    private final int maxProblems;
+    private final boolean offHeap;
+    private transient ByteBuffer records;
+    private String[] names;
+    private final Map<String, Integer> index = new HashMap<>();
+    private int size;
+
+    public SessionProblemStore(int maxProblems, boolean offHeap) {
+        this.maxProblems = maxProblems;
+        this.offHeap = offHeap;
+        int capacity = Math.min(INITIAL_CAPACITY, Math.max(1, maxProblems));
+        this.records = allocate(capacity);
+        this.names = new String[capacity];
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized boolean contains(String name) {
+        return index.containsKey(name);
+    }
+
+    public synchronized Optional<Problem> find(String name) {
+        Integer slot = index.get(name);
+        return slot == null ? Optional.empty() : Optional.of(read(slot));
+    }
+
+    /**
+     * 같은 이름이 있으면 덮어쓰고, 없으면 추가한다.
+     */
+    public synchronized void put(Problem p) {
+        Integer slot = index.get(p.getName());
+        if (slot == null) {
+            if (size >= maxProblems) throw new IllegalStateException("세션에 저장할 수 있는 문제 수(" + maxProblems + ")를 초과했습니다. 로그인 후 이용해 주세요.");
+            ensureCapacity(size + 1);
+            slot = size++;
+            names[slot] = p.getName();
+            index.put(p.getName(), slot);
+        }
+        write(slot, p);
+    }
+
+    public synchronized boolean remove(String name) {
+        Integer slot = index.remove(name);
+        if (slot == null) return false;
+        int last = --size;
+        if (slot != last) {
+            // 마지막 레코드를 빈 슬롯으로 옮겨 빈틈 없이 유지
+            for (int i = 0; i < RECORD_SIZE; i++) {
+                records.put(slot * RECORD_SIZE + i, records.get(last * RECORD_SIZE + i));
+            }
+            names[slot] = names[last];
+            index.put(names[slot], slot);
+        }
+        names[last] = null;
+        return true;
+    }
+
+    public synchronized List<Problem> list() {
+        List<Problem> out = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) out.add(read(i));
+        return out;
+    }
+
+    public synchronized void clear() {
+        index.clear();
+        Arrays.fill(names, null);
+        size = 0;
+    }
+
+    private Problem read(int slot) {
+        int base = slot * RECORD_SIZE;
+        int number = records.getInt(base + NUMBER);
+        byte category = records.get(base + CATEGORY);
+        long next = records.getLong(base + NEXT_REVIEW);
+        Problem p = new Problem();
+        p.setName(names[slot]);
+        p.setNumber(number == NO_NUMBER ? null : number);
+        p.setCategory(category < 0 ? null : CATEGORIES[category]);
+        p.setDifficulty(DIFFICULTIES[records.get(base + DIFFICULTY)]);
+        p.setStatus(STATUSES[records.get(base + STATUS)]);
+        p.setReviewStep(records.getInt(base + REVIEW_STEP));
+        p.setReviewCount(records.getInt(base + REVIEW_COUNT));
+        p.setNextReviewDate(next == NO_DATE ? null : LocalDateTime.ofEpochSecond(next, 0, ZoneOffset.UTC));
+        return p;
+    }
+
+    private void write(int slot, Problem p) {
+        int base = slot * RECORD_SIZE;
+        records.putInt(base + NUMBER, p.getNumber() == null ? NO_NUMBER : p.getNumber());
+        records.put(base + CATEGORY, (byte) (p.getCategory() == null ? -1 : p.getCategory().ordinal()));
+        records.put(base + DIFFICULTY, (byte) p.getDifficulty().ordinal());
+        records.put(base + STATUS, (byte) p.getStatus().ordinal());
+        records.putInt(base + REVIEW_STEP, p.getReviewStep());
+        records.putInt(base + REVIEW_COUNT, p.getReviewCount());
+        records.putLong(base + NEXT_REVIEW, p.getNextReviewDate() == null ? NO_DATE : p.getNextReviewDate().toEpochSecond(ZoneOffset.UTC));
+    }
+
+    private void ensureCapacity(int required) {
+        int capacity = names.length;
+        if (required <= capacity) return;
+        int grown = Math.min(maxProblems, Math.max(required, capacity * 2));
+        ByteBuffer bigger = allocate(grown);
+        ByteBuffer src = records.duplicate();
+        src.clear().limit(size * RECORD_SIZE);
+        bigger.put(src);
+        records = bigger;
+        names = Arrays.copyOf(names, grown);
+    }
+
+    private ByteBuffer allocate(int capacity) {
+        return offHeap ? ByteBuffer.allocateDirect(capacity * RECORD_SIZE) : ByteBuffer.allocate(capacity * RECORD_SIZE);
+    }
+
+    // 세션 직렬화(복제/영속화) 시 사용 중인 레코드 바이트만 기록
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        byte[] raw = new byte[size * RECORD_SIZE];
+        records.duplicate().clear().get(raw);
+        out.writeObject(raw);
+    }
+
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        byte[] raw = (byte[]) in.readObject();
+        records = allocate(names.length);
+        records.put(0, raw);
+    }
+}
@@ -1,31 +1,51 @@
 package com.example.ctreview.service;
 
+import com.example.ctreview.dto.ProblemDto;
+import com.example.ctreview.dto.ReviewBatchRequest;
+import com.example.ctreview.dto.ReviewBatchResultDto;
 import com.example.ctreview.entity.*;
 import jakarta.servlet.http.HttpSession;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.*;
 import java.util.*;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("ctreview.service")
 @RequiredArgsConstructor
 @Slf4j
 public class SessionReviewService {
+    static final String STORE_ATTR = "tempProblems";
+
     private final ReviewPolicy reviewPolicy;
     private final Clock clock;
+    private final ReviewMetrics metrics;
+
+    @Value("${ctreview.session-store.max-problems:500}")
+    private int maxProblems;
 
-    @SuppressWarnings("unchecked")
-    private List<Problem> store(HttpSession session) {
-        List<Problem> list = (List<Problem>) session.getAttribute("tempProblems");
-        if (list == null) {
-            list = new CopyOnWriteArrayList<>();
-            session.setAttribute("tempProblems", list);
+    @Value("${ctreview.session-store.off-heap:false}")
+    private boolean offHeap;
+
+    private SessionProblemStore store(HttpSession session) {
+        SessionProblemStore store = (SessionProblemStore) session.getAttribute(STORE_ATTR);
+        if (store == null) {
+            store = new SessionProblemStore(maxProblems, offHeap);
+            session.setAttribute(STORE_ATTR, store);
         }
-        return list;
+        return store;
+    }
+
+    // 변경된 레코드를 저장하고, 세션 복제/영속화 구현이 변경을 감지하도록 속성을 다시 설정
+    private Problem save(HttpSession session, SessionProblemStore store, Problem p) {
+        store.put(p);
+        session.setAttribute(STORE_ATTR, store);
+        return p;
     }
 
     private LocalDateTime now() { return LocalDateTime.now(clock); }
@@ -33,8 +53,8 @@ public class SessionReviewService {
 
     public Problem create(HttpSession session, Integer number, String name, ProblemCategory category, ProblemDifficulty difficulty) {
         log.debug("[session] create number={} name={}", number, name);
-        List<Problem> list = store(session);
-        if (list.stream().anyMatch(p -> p.getName().equals(name))) {
+        SessionProblemStore store = store(session);
+        if (store.contains(name.trim())) {
             throw new IllegalStateException("이미 존재하는 문제 이름");
         }
         Problem p = new Problem();
@@ -44,87 +64,107 @@ public class SessionReviewService {
         p.setDifficulty(difficulty);
         p.setReviewStep(1);
         p.setReviewCount(0); // 현재 간격 인덱스
-        scheduleNextReview(p, now());
-        list.add(p);
-        return p;
+        reviewPolicy.onCreate(p, now());
+        return save(session, store, p);
     }
 
     public List<Problem> listToday(HttpSession session) {
         log.debug("[session] listToday");
-        return store(session).stream()
+        return store(session).list().stream()
                 .filter(p -> p.getStatus() == ProblemStatus.ACTIVE)
                 .filter(p -> p.getNextReviewDate() != null && !p.getNextReviewDate().isAfter(now()))
                 .sorted(Comparator.comparing(Problem::getReviewStep).reversed())
                 .collect(Collectors.toList());
     }
 
+    public List<Problem> listAllActiveOrderByDate(HttpSession session) {
+        log.debug("[session] listAllActiveOrderByDate");
+        return store(session).list().stream()
+                .filter(p -> p.getStatus() == ProblemStatus.ACTIVE)
+                .sorted(Comparator.comparing(Problem::getNextReviewDate, Comparator.nullsLast(Comparator.naturalOrder())))
+                .collect(Collectors.toList());
+    }
+
     public List<Problem> listAll(HttpSession session) {
-        return new ArrayList<>(store(session));
+        return store(session).list();
     }
 
     public Problem solve(HttpSession session, String name) {
         Problem p = getByName(session, name);
         log.debug("[session] solve name={}", name);
-        p.setReviewCount(p.getReviewCount() + 1);
-        scheduleNextReview(p, now());
-        return p;
+        reviewPolicy.onSolve(p, now());
+        metrics.action("solve", "session");
+        return save(session, store(session), p);
     }
 
     public Problem fail(HttpSession session, String name) {
         Problem p = getByName(session, name);
         log.debug("[session] fail name={}", name);
-        scheduleNextReviewOnFail(p, now());
-        return p;
+        reviewPolicy.onFail(p, now());
+        metrics.action("fail", "session");
+        return save(session, store(session), p);
     }
 
     public Problem graduate(HttpSession session, String name) {
         Problem p = getByName(session, name);
         log.debug("[session] graduate name={}", name);
         p.graduate();
-        return p;
+        metrics.action("graduate", "session");
+        return save(session, store(session), p);
     }
 
-    public void delete(HttpSession session, String name) {
-        log.debug("[session] delete name={}", name);
-        List<Problem> list = store(session);
-        list.removeIf(p -> Objects.equals(p.getName(), name));
+    /**
+     * 여러 문제의 SOLVE/FAIL/GRADUATE 를 차례로 처리한다. 항목별 실패는 결과로만 보고된다.
+     */
+    public ReviewBatchResultDto applyBatch(HttpSession session, List<ReviewBatchRequest.Item> items) {
+        log.debug("[session] applyBatch size={}", items.size());
+        List<ReviewBatchResultDto.ItemResult> results = new ArrayList<>();
+        for (var item : items) {
+            try {
+                Problem p = switch (item.action()) {
+                    case SOLVE -> solve(session, item.name());
+                    case FAIL -> fail(session, item.name());
+                    case GRADUATE -> graduate(session, item.name());
+                };
+                results.add(ReviewBatchResultDto.ItemResult.ok(item.name(), item.action(), item.action() + " 완료", ProblemDto.from(p)));
+            } catch (NoSuchElementException | IllegalStateException e) {
+                results.add(ReviewBatchResultDto.ItemResult.error(item.name(), item.action(), e.getMessage()));
+            }
+        }
+        int ok = (int) results.stream().filter(ReviewBatchResultDto.ItemResult::ok).count();
+        return ReviewBatchResultDto.builder()
+                .succeeded(ok)
+                .failed(results.size() - ok)
+                .results(results)
+                .build();
     }
 
-    private Problem getByName(HttpSession session, String name) {
-        return store(session).stream()
-                .filter(p -> Objects.equals(p.getName(), name))
-                .findFirst()
-                .orElseThrow(() -> new NoSuchElementException("문제 미존재(이름)"));
+    public Problem getByNameOrThrow(HttpSession session, String name) {
+        return getByName(session, name.trim());
     }
 
-    private void scheduleNextReview(Problem p, LocalDateTime base) {
-        int[] intervals = reviewPolicy.intervals(p.getDifficulty());
-        int index = p.getReviewCount();
-        if (index >= intervals.length) {
-            p.graduate();
-            return;
-        }
-        p.setReviewStep(reviewPolicy.step(p.getDifficulty(), index));
-        int amt = intervals[index];
-        var unit = reviewPolicy.unit();
-        activate(p, base.plus(amt, unit));
+    public Problem getByNumberOrThrow(HttpSession session, Integer number) {
+        var list = store(session).list().stream()
+                .filter(p -> Objects.equals(p.getNumber(), number))
+                .toList();
+        if (list.isEmpty()) throw new NoSuchElementException("문제 미존재(번호)");
+        if (list.size() > 1) throw new IllegalStateException("해당 번호가 여러 개입니다. 이름으로 지정해 주세요.");
+        return list.get(0);
     }
 
-    private void scheduleNextReviewOnFail(Problem p, LocalDateTime base) {
-        int[] intervals = reviewPolicy.intervals(p.getDifficulty());
-        int index = p.getReviewCount();
-        if (intervals.length == 0) {
-            return;
-        }
-        if (index >= intervals.length) index = intervals.length - 1;
-        p.setReviewStep(reviewPolicy.step(p.getDifficulty(), index));
-        int amt = intervals[index];
-        var unit = reviewPolicy.unit();
-        activate(p, base.plus(amt, unit));
+    public void delete(HttpSession session, String name) {
+        log.debug("[session] delete name={}", name);
+        SessionProblemStore store = store(session);
+        if (store.remove(name)) session.setAttribute(STORE_ATTR, store);
+    }
+
+    public void clear(HttpSession session) {
+        log.debug("[session] clear");
+        session.removeAttribute(STORE_ATTR);
     }
 
-    private void activate(Problem p, LocalDateTime next) {
-        p.setNextReviewDate(next);
-        p.setStatus(ProblemStatus.ACTIVE);
+    private Problem getByName(HttpSession session, String name) {
+        return store(session).find(name)
+                .orElseThrow(() -> new NoSuchElementException("문제 미존재(이름)"));
     }
 }
@@ -0,0 +1,63 @@
+package com.example.ctreview.service;
+
+import com.example.ctreview.entity.User;
+import com.example.ctreview.entity.UserStreak;
+import com.example.ctreview.repository.DailyActivityRepository;
+import com.example.ctreview.repository.UserRepository;
+import com.example.ctreview.repository.UserStreakRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/**
+ * 연속 학습일 관리. 저장된 current/longest 값을 갱신하고 1회 조회로 반환한다.
+ */
+@Service
+@Timed("ctreview.service")
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class StreakService {
+    private final UserStreakRepository streakRepo;
+    private final DailyActivityRepository activityRepo;
+    private final UserRepository userRepo;
+
+    /**
+     * 해당 날짜의 첫 활동이 기록되었을 때 호출된다.
+     */
+    public void onActiveDay(User user, LocalDate day) {
+        UserStreak s = streakRepo.findById(user.getId()).orElseGet(() -> rebuild(user));
+        s.markActive(day);
+    }
+
+    public int currentStreak(User user, LocalDate today) {
+        return streakRepo.findById(user.getId())
+                .orElseGet(() -> rebuild(user))
+                .currentAsOf(today);
+    }
+
+    // 저장된 streak 이 없는 사용자(기존 데이터)는 활동일 목록 1회 조회로 복원한다.
+    // 사용자 행을 잠가 동시에 처음 조회한 요청이 같은 키로 insert 하지 않도록 하고, 먼저 만든 쪽이 있으면 그 행을 쓴다
+    private UserStreak rebuild(User user) {
+        User locked = userRepo.lockById(user.getId())
+                .orElseThrow(() -> new NoSuchElementException("사용자 미존재"));
+        Optional<UserStreak> existing = streakRepo.findById(user.getId());
+        if (existing.isPresent()) return existing.get();
+        log.debug("rebuild streak userId={}", user.getId());
+        List<LocalDate> days = activityRepo.findActivityDatesDesc(user);
+        UserStreak s = UserStreak.builder()
+                .user(locked)
+                .build();
+        for (int i = days.size() - 1; i >= 0; i--) {
+            s.markActive(days.get(i));
+        }
+        return streakRepo.save(s);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.ctreview.service;
+
+/**
+ * 사용자의 문제/로그 변경이 커밋되었음을 알린다 (트랜잭션당 사용자별 1회).
+ */
+public record UserDataChangedEvent(Long userId) {
+}
@@ -35,6 +35,7 @@ const API = {
     deleteAny:(params) => `/api/problems?${params.toString()}`,
     search:   (params) => `/api/problems?${params.toString()}`,
     dashboard:() => `/api/dashboard/summary`,
+    graduated:(params) => `/api/dashboard/graduated?${params.toString()}`,
     auth: {
         me: () => `/api/auth/me`,
         login: () => `/api/auth/login`,
@@ -43,9 +44,9 @@ const API = {
     }
 };
 
-async function http(method, url, body) {
+async function http(method, url, body, headers) {
     addLog(`Requesting ${method} ${url}`, 'INFO');
-    const opts = { method, headers: { 'Content-Type': 'application/json' } };
+    const opts = { method, headers: { 'Content-Type': 'application/json', ...headers } };
     if (body !== undefined && body !== null) opts.body = JSON.stringify(body);
 
     try {
@@ -59,7 +60,9 @@ async function http(method, url, body) {
                 // JSON 파싱 실패
             }
             addLog(`${method} ${url} -> ${res.status} FAILED: ${msg}`, 'FAIL');
-            throw new Error(msg);
+            const err = new Error(msg);
+            err.status = res.status; // 서버 응답이 있었음 (네트워크 오류와 구분)
+            throw err;
         }
 
         addLog(`${method} ${url} -> ${res.status} SUCCESS`, 'SUCCESS');
@@ -88,6 +91,22 @@ async function checkAuth(){
         currentUser = await http('GET', API.auth.me());
     }catch{ currentUser = null; }
     updateAuthUI();
+    connectStream();
+}
+
+// ---- 복습 알림 스트림 (로그인 사용자) ----
+let reviewStream = null;
+function connectStream(){
+    if(reviewStream){ reviewStream.close(); reviewStream = null; }
+    if(!currentUser) return;
+    reviewStream = new EventSource('/api/reviews/stream');
+    reviewStream.addEventListener('due', e => {
+        const due = JSON.parse(e.data);
+        toast(`복습할 문제 ${due.length}개: ${due.map(p => p.name).join(', ')}`);
+        loadToday();
+    });
+    reviewStream.addEventListener('today-changed', () => loadToday());
+    // 연결이 끊기면 EventSource 가 자동 재연결
 }
 function updateAuthUI(){
     const login = el('btn-login');
@@ -111,8 +130,8 @@ async function doLogin(){
     if(!email) return;
     const password = prompt('비밀번호?');
     if(password==null) return;
-    await http('POST', API.auth.login(), {email, password});
-    toast('로그인 완료');
+    const me = await http('POST', API.auth.login(), {email, password});
+    toast('로그인 완료' + migrationNote(me?.migration));
     await checkAuth();
 }
 async function doRegister(){
@@ -120,8 +139,14 @@ async function doRegister(){
     if(!email) return;
     const password = prompt('비밀번호?');
     if(password==null) return;
-    await http('POST', API.auth.register(), {email, password});
-    toast('가입 완료');
+    const migration = await http('POST', API.auth.register(), {email, password});
+    toast('가입 완료' + migrationNote(migration));
+}
+// 세션에서 계정으로 옮긴 문제 안내
+function migrationNote(m){
+    if(!m || (!m.migrated && !m.skipped?.length)) return '';
+    const skipped = m.skipped?.length ? `, 이름 중복 ${m.skipped.length}개 제외` : '';
+    return ` (세션 문제 ${m.migrated}개 이동${skipped})`;
 }
 async function doLogout(){
     await http('POST', API.auth.logout());
@@ -244,6 +269,7 @@ function createProblemRow(p, type) {
 
 
 /* assets/app.js 파일의 performSearch 함수 내부의 'colspan' 값을 수정합니다. */
+let searchParams = null;   // 마지막 검색 조건 (더 보기에서 재사용)
 async function performSearch(){
     const tbody = el('tbl-search');
     try{
@@ -257,19 +283,38 @@ async function performSearch(){
         if (from) params.set('from', from);
         if (to) params.set('to', to);
         if (sort) params.set('sort', sort);
+        searchParams = params;
 
-        const list = await http('GET', API.search(params));
+        const page = await http('GET', API.search(params));
         tbody.innerHTML='';
-        if (!list || !list.length){
+        if (!page || !page.items || !page.items.length){
             tbody.innerHTML = `<tr><td colspan="6" style="color:var(--muted)">검색 결과가 없습니다.</td></tr>`;
         } else {
-            list.forEach(p => tbody.appendChild(createProblemRow(p, 'search')));
+            renderSearchPage(tbody, page);
         }
     } catch(e){
         tbody.innerHTML = `<tr><td colspan="6" style="color:var(--bad)">검색 실패: ${e.message}</td></tr>`;
     }
 }
 
+// 서버는 페이지 단위(keyset cursor)로 응답하므로 '더 보기' 행으로 다음 페이지를 이어 붙인다.
+function renderSearchPage(tbody, page){
+    page.items.forEach(p => tbody.appendChild(createProblemRow(p, 'search')));
+    if (!page.nextCursor) return;
+    const tr = document.createElement('tr');
+    tr.innerHTML = `<td colspan="6"><button class="btn" data-act="more">더 보기</button></td>`;
+    tr.querySelector('[data-act="more"]').addEventListener('click', async () => {
+        const params = new URLSearchParams(searchParams);
+        params.set('cursor', page.nextCursor);
+        try {
+            const next = await http('GET', API.search(params));
+            tr.remove();
+            renderSearchPage(tbody, next);
+        } catch(e){ toast('검색 실패: '+e.message, 'bad'); }
+    });
+    tbody.appendChild(tr);
+}
+
 
 async function loadToday(){
     const tbody = el('tbl-today');
@@ -305,7 +350,20 @@ async function addProblem() {
         Promise.all([loadToday(), performSearch(), loadDashboard()]);
     } catch(e){ toast('추가 실패: '+e.message, 'bad'); }
 }
+// 멱등 키: 사용자 동작 1회당 1개. 응답을 받기 전까지 유지해 재전송(네트워크 오류 후 다시 클릭)에 같은 키를 쓴다
+const pendingActionKeys = new Map();
+function newIdempotencyKey(){
+    if (crypto.randomUUID) return crypto.randomUUID();
+    // randomUUID 는 보안 컨텍스트(HTTPS/localhost)에서만 제공됨: getRandomValues 로 v4 UUID 생성
+    const b = crypto.getRandomValues(new Uint8Array(16));
+    b[6] = (b[6] & 0x0f) | 0x40;
+    b[8] = (b[8] & 0x3f) | 0x80;
+    const h = Array.from(b, x => x.toString(16).padStart(2, '0')).join('');
+    return `${h.slice(0,8)}-${h.slice(8,12)}-${h.slice(12,16)}-${h.slice(16,20)}-${h.slice(20)}`;
+}
 async function actBy(kind, problem, ...btns){
+    const action = `${kind}:${problem?.name ?? problem?.number}`;
+    if (!pendingActionKeys.has(action)) pendingActionKeys.set(action, newIdempotencyKey());
     try{
         btns.forEach(b=>b && (b.disabled=true));
         const params = new URLSearchParams();
@@ -314,10 +372,13 @@ async function actBy(kind, problem, ...btns){
         const url = (kind==='solve') ? API.solveAny(params)
             : (kind==='fail') ? API.failAny(params)
                 : API.graduateAny(params);
-        await http('POST', url);
+        await http('POST', url, null, { 'Idempotency-Key': pendingActionKeys.get(action) });
+        pendingActionKeys.delete(action);
         toast(`${kind.toUpperCase()} 완료`, 'ok');
         Promise.all([loadToday(), performSearch(), loadDashboard()]);
-    } catch(e){ toast(`${kind.toUpperCase()} 실패: `+e.message, 'bad');
+    } catch(e){
+        if (e.status) pendingActionKeys.delete(action); // 응답을 받았으면 다음 동작은 새 키
+        toast(`${kind.toUpperCase()} 실패: `+e.message, 'bad');
     } finally{ btns.forEach(b=>b && (b.disabled=false)); }
 }
 async function delBy(problem, ...btns){
@@ -404,14 +465,9 @@ async function loadDashboard(){
 
         const gradListContainer = el('grad-list');
         if(gradListContainer){
-            gradListContainer.innerHTML = ''; // 컨테이너 비우기
-            (data.graduatedProblems||[]).forEach(p => {
-                const pill = document.createElement('div');
-                pill.className = `pill-grad ${p.difficulty}`;
-                pill.textContent = p.name;
-                pill.title = `난이도: ${diffMap[p.difficulty] || p.difficulty}`;
-                gradListContainer.appendChild(pill);
-            });
+            gradListContainer.innerHTML = ''; // 컨테이너 비우기 (목록은 요청 시 로드)
+            const total = Object.values(gradDist).reduce((a, b) => a + (+b || 0), 0);
+            if(total > 0) appendGradMore(gradListContainer, null, `졸업한 문제 보기 (${total})`);
         }
 
         heatmapData = new Map();
@@ -423,6 +479,30 @@ async function loadDashboard(){
     }
 }
 
+// 졸업 문제 목록: 요약과 분리된 페이지 API 를 버튼으로 이어서 불러온다
+function appendGradMore(container, cursor, label){
+    const btn = document.createElement('button');
+    btn.className = 'btn';
+    btn.textContent = label;
+    btn.addEventListener('click', async () => {
+        const params = new URLSearchParams();
+        if (cursor) params.set('cursor', cursor);
+        try{
+            const page = await http('GET', API.graduated(params));
+            btn.remove();
+            page.items.forEach(p => {
+                const pill = document.createElement('div');
+                pill.className = `pill-grad ${p.difficulty}`;
+                pill.textContent = p.name;
+                pill.title = `난이도: ${diffMap[p.difficulty] || p.difficulty}`;
+                container.appendChild(pill);
+            });
+            if (page.nextCursor) appendGradMore(container, page.nextCursor, '더 보기');
+        }catch(e){ toast('졸업 목록 로드 실패: '+e.message, 'bad'); }
+    });
+    container.appendChild(btn);
+}
+
 function drawBarChart(canvas, labels, values, colors){
     const ctx = canvas.getContext('2d'); const w=canvas.width,h=canvas.height;
     ctx.clearRect(0,0,w,h);
@@ -0,0 +1,57 @@
+package com.example.ctreview.controller;
+
+import com.example.ctreview.entity.Problem;
+import com.example.ctreview.repository.ProblemRepository;
+import com.example.ctreview.service.SessionReviewService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 비로그인 요청은 DB 가 아니라 세션 저장소에 기록되어야 한다.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class AnonymousSessionTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    SessionReviewService sessionReviewService;
+
+    @Autowired
+    ProblemRepository problemRepo;
+
+    @Test
+    void createAndSolveAreKeptInSession() throws Exception {
+        String name = "anon-" + UUID.randomUUID();
+        MockHttpSession session = new MockHttpSession();
+
+        mockMvc.perform(post("/api/problems").session(session)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"number\":1,\"name\":\"" + name + "\",\"difficulty\":\"LOW\"}"))
+                .andExpect(status().isOk());
+        assertEquals(0, sessionReviewService.getByNameOrThrow(session, name).getReviewCount());
+
+        mockMvc.perform(post("/api/problems/solve").param("name", name).session(session))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.problem.name").value(name));
+
+        Problem solved = sessionReviewService.getByNameOrThrow(session, name);
+        assertEquals(1, solved.getReviewCount());
+        assertEquals(1, sessionReviewService.listAll(session).size());
+        assertFalse(problemRepo.existsByNameAndUser(name, null));
+    }
+}
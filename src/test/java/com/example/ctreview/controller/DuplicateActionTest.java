@@ -0,0 +1,109 @@
+package com.example.ctreview.controller;
+
+import com.example.ctreview.entity.Problem;
+import com.example.ctreview.entity.ProblemDifficulty;
+import com.example.ctreview.entity.ReviewAction;
+import com.example.ctreview.entity.ReviewLog;
+import com.example.ctreview.entity.User;
+import com.example.ctreview.repository.ProblemRepository;
+import com.example.ctreview.repository.ReviewLogRepository;
+import com.example.ctreview.repository.UserRepository;
+import com.example.ctreview.service.ReviewService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 같은 날 같은 문제의 두 번째 SOLVE/FAIL 은 400 이고 문제 상태는 바뀌지 않아야 한다.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class DuplicateActionTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    UserRepository userRepo;
+
+    @Autowired
+    ProblemRepository problemRepo;
+
+    @Autowired
+    ReviewLogRepository logRepo;
+
+    @Autowired
+    ReviewService reviewService;
+
+    @Autowired
+    Clock clock;
+
+    private User user;
+
+    private MockHttpSession sessionWithProblem(String name) {
+        User u = new User();
+        u.setEmail(UUID.randomUUID() + "@test");
+        u.setPasswordHash("-");
+        user = userRepo.save(u);
+        reviewService.createProblem(user, null, name, null, ProblemDifficulty.MEDIUM);
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute("uid", user.getId());
+        return session;
+    }
+
+    private Problem load(String name) {
+        return problemRepo.findByNameAndUser(name, user).orElseThrow();
+    }
+
+    @Test
+    void secondSolveSameDayIsRejected() throws Exception {
+        MockHttpSession session = sessionWithProblem("d1");
+        mockMvc.perform(post("/api/problems/solve").param("name", "d1").session(session))
+                .andExpect(status().isOk());
+        Problem before = load("d1");
+
+        mockMvc.perform(post("/api/problems/solve").param("name", "d1").session(session))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("오늘은 이미 SOLVE 처리되었습니다."));
+
+        Problem after = load("d1");
+        assertEquals(before.getReviewStep(), after.getReviewStep());
+        assertEquals(before.getReviewCount(), after.getReviewCount());
+        assertEquals(before.getNextReviewDate(), after.getNextReviewDate());
+    }
+
+    @Test
+    void constraintViolationIsTranslatedAndRolledBack() throws Exception {
+        MockHttpSession session = sessionWithProblem("d2");
+        Problem before = load("d2");
+        // 다른 노드가 이미 커밋한 로그: 메모리 기록에는 없으므로 insert 시 유니크 제약으로 걸러져야 한다
+        logRepo.save(ReviewLog.builder()
+                .problem(before)
+                .user(user)
+                .action(ReviewAction.FAIL)
+                .actionDate(LocalDate.now(clock))
+                .build());
+
+        mockMvc.perform(post("/api/problems/fail").param("name", "d2").session(session))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("오늘은 이미 FAIL 처리되었습니다."));
+
+        Problem after = load("d2");
+        assertEquals(before.getReviewStep(), after.getReviewStep());
+        assertEquals(before.getReviewCount(), after.getReviewCount());
+        assertEquals(before.getNextReviewDate(), after.getNextReviewDate());
+        assertEquals(before.getVersion(), after.getVersion());
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.ctreview.controller;
+
+import com.example.ctreview.entity.ProblemDifficulty;
+import com.example.ctreview.entity.User;
+import com.example.ctreview.repository.UserRepository;
+import com.example.ctreview.service.ReviewService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ETagTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    UserRepository userRepo;
+
+    @Autowired
+    ReviewService reviewService;
+
+    @Test
+    void notModifiedUntilProblemChanges() throws Exception {
+        User u = new User();
+        u.setEmail(UUID.randomUUID() + "@test");
+        u.setPasswordHash("-");
+        u = userRepo.save(u);
+        reviewService.createProblem(u, 1, "e1", null, ProblemDifficulty.LOW);
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute("uid", u.getId());
+
+        String etag = mockMvc.perform(get("/api/problems/active").session(session))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/api/problems/active").session(session).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        reviewService.createProblem(u, 2, "e2", null, ProblemDifficulty.LOW);
+
+        String changed = mockMvc.perform(get("/api/problems/active").session(session).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, changed);
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.ctreview.controller;
+
+import com.example.ctreview.entity.ProblemDifficulty;
+import com.example.ctreview.entity.User;
+import com.example.ctreview.repository.UserRepository;
+import com.example.ctreview.service.ReviewService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 엔드포인트별 SQL 문 수가 데이터 크기와 무관하게 고정되어 있는지 확인한다 (N+1 회귀 방지).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class QueryCountTest {
+
+    private static final int MAX_SUMMARY_STATEMENTS = 6;
+    private static final int MAX_SEARCH_STATEMENTS = 1;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    UserRepository userRepo;
+
+    @Autowired
+    ReviewService reviewService;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    private MockHttpSession sessionWithProblems(int problems) {
+        User u = new User();
+        u.setEmail(UUID.randomUUID() + "@test");
+        u.setPasswordHash("-");
+        u = userRepo.save(u);
+        for (int i = 0; i < problems; i++) {
+            reviewService.createProblem(u, i, "q" + i, null, ProblemDifficulty.values()[i % 3]);
+            if (i % 3 == 0) reviewService.graduate(u, "q" + i);
+            else if (i % 2 == 0) reviewService.solve(u, "q" + i);
+        }
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute("uid", u.getId());
+        return session;
+    }
+
+    private int statements(String uri, MockHttpSession session) throws Exception {
+        mockMvc.perform(get(uri).session(session)).andExpect(status().isOk()); // 사용자 캐시 등 워밍업
+        double before = total(uri);
+        mockMvc.perform(get(uri).session(session)).andExpect(status().isOk());
+        return (int) (total(uri) - before);
+    }
+
+    private double total(String uri) {
+        DistributionSummary s = meterRegistry.find("ctreview.http.sql.statements").tag("uri", uri).summary();
+        return s == null ? 0 : s.totalAmount();
+    }
+
+    @Test
+    void summaryStatementCountDoesNotGrowWithData() throws Exception {
+        int small = statements("/api/dashboard/summary", sessionWithProblems(3));
+        int large = statements("/api/dashboard/summary", sessionWithProblems(30));
+        assertEquals(small, large);
+        assertTrue(large <= MAX_SUMMARY_STATEMENTS, "summary statements=" + large);
+    }
+
+    @Test
+    void searchStatementCountDoesNotGrowWithData() throws Exception {
+        int small = statements("/api/problems", sessionWithProblems(3));
+        int large = statements("/api/problems", sessionWithProblems(30));
+        assertEquals(small, large);
+        assertTrue(large <= MAX_SEARCH_STATEMENTS, "search statements=" + large);
+    }
+
+    @Test
+    void graduatedPageStatementCountDoesNotGrowWithData() throws Exception {
+        int small = statements("/api/dashboard/graduated", sessionWithProblems(3));
+        int large = statements("/api/dashboard/graduated", sessionWithProblems(30));
+        assertEquals(small, large);
+        assertTrue(large <= MAX_SEARCH_STATEMENTS, "graduated statements=" + large);
+    }
+
+    @Test
+    void graduatedPagesCoverEveryItemExactlyOnce() throws Exception {
+        MockHttpSession session = sessionWithProblems(30); // q0, q3, ..., q27 졸업 (10개)
+        // 최근 등록 순 (id 내림차순)
+        List<String> expected = IntStream.range(0, 30).filter(i -> i % 3 == 0).map(i -> 27 - i)
+                .mapToObj(i -> "q" + i).toList();
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            var req = get("/api/dashboard/graduated").session(session).param("size", "4");
+            if (cursor != null) req.param("cursor", cursor);
+            JsonNode page = objectMapper.readTree(mockMvc.perform(req)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            page.get("items").forEach(item -> seen.add(item.get("name").asText()));
+            cursor = page.hasNonNull("nextCursor") ? page.get("nextCursor").asText() : null;
+            pages++;
+        } while (cursor != null && pages < 10);
+
+        assertEquals(3, pages);
+        assertEquals(expected, seen);
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.ctreview.controller;
+
+import com.example.ctreview.CtReviewApplication;
+import com.example.ctreview.entity.Problem;
+import com.example.ctreview.entity.ProblemDifficulty;
+import com.example.ctreview.entity.User;
+import com.example.ctreview.repository.ProblemRepository;
+import com.example.ctreview.repository.UserRepository;
+import com.example.ctreview.service.JobLockService;
+import com.example.ctreview.service.ReviewService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 같은 DB 를 쓰는 두 노드(애플리케이션 컨텍스트)가 동시에 롤오버를 실행해도 작업이 나뉘고 중복되지 않는지 확인한다.
+ */
+class RolloverJobClusterTest {
+    private static final int USERS = 8;
+    private static final int PROBLEMS_PER_USER = 5;
+
+    private ConfigurableApplicationContext nodeA;
+    private ConfigurableApplicationContext nodeB;
+
+    private static ConfigurableApplicationContext node(String db) {
+        return new SpringApplicationBuilder(CtReviewApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:" + db + ";DB_CLOSE_DELAY=-1",
+                        "ctreview.rollover.mode=GLOBAL",
+                        "ctreview.rollover.partitions=4",
+                        "ctreview.node-local-cache.enabled=false",
+                        "ctreview.rollover.chunk-size=7",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.com.example.ctreview=INFO")
+                .run();
+    }
+
+    @BeforeEach
+    void start() {
+        String db = "cluster-" + UUID.randomUUID();
+        nodeA = node(db);
+        nodeB = node(db);
+    }
+
+    @AfterEach
+    void stop() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    private void seedOverdue() {
+        UserRepository userRepo = nodeA.getBean(UserRepository.class);
+        ReviewService reviewService = nodeA.getBean(ReviewService.class);
+        LocalDateTime past = LocalDateTime.now(nodeA.getBean(Clock.class)).minusDays(3);
+        List<Problem> problems = new ArrayList<>();
+        for (int u = 0; u < USERS; u++) {
+            User user = new User();
+            user.setEmail(UUID.randomUUID() + "@node");
+            user.setPasswordHash("-");
+            user = userRepo.save(user);
+            for (int i = 0; i < PROBLEMS_PER_USER; i++) {
+                Problem p = reviewService.newProblem(user, i, "u" + u + "-" + i, null, ProblemDifficulty.MEDIUM);
+                p.setNextReviewDate(past);
+                problems.add(p);
+            }
+        }
+        nodeA.getBean(ProblemRepository.class).saveAll(problems);
+    }
+
+    @Test
+    void leaseIsExclusiveAcrossNodes() {
+        JobLockService a = nodeA.getBean(JobLockService.class);
+        JobLockService b = nodeB.getBean(JobLockService.class);
+        assertTrue(a.tryLock("test-lock", Duration.ofMinutes(5)));
+        assertFalse(b.tryLock("test-lock", Duration.ofMinutes(5)));
+        assertTrue(a.renew("test-lock", Duration.ofMinutes(5)));
+
+        // 만료된 lease 는 다른 노드가 가져간다
+        assertTrue(a.tryLock("test-lock", Duration.ofSeconds(-1)));
+        assertTrue(b.tryLock("test-lock", Duration.ofMinutes(5)));
+        assertFalse(a.renew("test-lock", Duration.ofMinutes(5)));
+    }
+
+    @Test
+    void concurrentRunsSplitWorkWithoutDuplicates() throws Exception {
+        seedOverdue();
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<RolloverJob.RolloverResult> ra = pool.submit(() -> {
+                barrier.await();
+                return nodeA.getBean(RolloverJob.class).rolloverOverdue();
+            });
+            Future<RolloverJob.RolloverResult> rb = pool.submit(() -> {
+                barrier.await();
+                return nodeB.getBean(RolloverJob.class).rolloverOverdue();
+            });
+            int rows = ra.get(30, TimeUnit.SECONDS).rows() + rb.get(30, TimeUnit.SECONDS).rows();
+            assertEquals(USERS * PROBLEMS_PER_USER, rows);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now(nodeA.getBean(Clock.class)).minusDays(1);
+        assertTrue(nodeA.getBean(ProblemRepository.class).findAll().stream()
+                .allMatch(p -> p.getNextReviewDate().isAfter(cutoff)));
+
+        // 최소 유지 시간 동안은 다시 실행해도 아무 노드도 파티션을 잡지 못한다
+        assertEquals(0, nodeB.getBean(RolloverJob.class).rolloverOverdue().chunks());
+    }
+}
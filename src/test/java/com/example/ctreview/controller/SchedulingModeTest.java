@@ -0,0 +1,64 @@
+package com.example.ctreview.controller;
+
+import com.example.ctreview.entity.Problem;
+import com.example.ctreview.entity.ProblemDifficulty;
+import com.example.ctreview.entity.SchedulingMode;
+import com.example.ctreview.entity.User;
+import com.example.ctreview.repository.ProblemRepository;
+import com.example.ctreview.repository.UserRepository;
+import com.example.ctreview.service.ReviewService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 적응형 모드로 다시 바꾸면 예전 적응형 상태(ease/간격)는 지워져야 한다.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class SchedulingModeTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    UserRepository userRepo;
+
+    @Autowired
+    ProblemRepository problemRepo;
+
+    @Autowired
+    ReviewService reviewService;
+
+    @Test
+    void switchingToAdaptiveResetsStoredState() throws Exception {
+        User u = new User();
+        u.setEmail(UUID.randomUUID() + "@test");
+        u.setPasswordHash("-");
+        u.setSchedulingMode(SchedulingMode.ADAPTIVE);
+        User user = userRepo.save(u);
+        reviewService.createProblem(user, null, "a1", null, ProblemDifficulty.MEDIUM);
+        assertNotNull(problemRepo.findByNameAndUser("a1", user).orElseThrow().getEaseFactor());
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute("uid", user.getId());
+
+        mockMvc.perform(put("/api/auth/scheduling").param("mode", "FIXED").session(session))
+                .andExpect(status().isOk());
+        assertNotNull(problemRepo.findByNameAndUser("a1", user).orElseThrow().getEaseFactor());
+
+        mockMvc.perform(put("/api/auth/scheduling").param("mode", "ADAPTIVE").session(session))
+                .andExpect(status().isOk());
+        Problem p = problemRepo.findByNameAndUser("a1", user).orElseThrow();
+        assertNull(p.getEaseFactor());
+        assertNull(p.getIntervalDays());
+    }
+}
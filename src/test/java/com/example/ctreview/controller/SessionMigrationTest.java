@@ -0,0 +1,70 @@
+package com.example.ctreview.controller;
+
+import com.example.ctreview.entity.Problem;
+import com.example.ctreview.entity.User;
+import com.example.ctreview.repository.ProblemRepository;
+import com.example.ctreview.repository.UserRepository;
+import com.example.ctreview.service.SessionReviewService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 비로그인으로 풀던 문제가 가입 후 새 계정으로 옮겨져야 한다 (진행 상태 유지).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class SessionMigrationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    UserRepository userRepo;
+
+    @Autowired
+    ProblemRepository problemRepo;
+
+    @Autowired
+    SessionReviewService sessionReviewService;
+
+    private void create(MockHttpSession session, String name) throws Exception {
+        mockMvc.perform(post("/api/problems").session(session)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + name + "\",\"difficulty\":\"MEDIUM\"}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void registerMovesSessionProblemsToNewAccount() throws Exception {
+        MockHttpSession session = new MockHttpSession();
+        create(session, "m1");
+        create(session, "m2");
+        mockMvc.perform(post("/api/problems/solve").param("name", "m1").session(session))
+                .andExpect(status().isOk());
+
+        String email = UUID.randomUUID() + "@test";
+        mockMvc.perform(post("/api/auth/register").session(session)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + email + "\",\"password\":\"pw\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.migrated").value(2));
+
+        User user = userRepo.findByEmail(email).orElseThrow();
+        Problem solved = problemRepo.findByNameAndUser("m1", user).orElseThrow();
+        assertEquals(1, solved.getReviewCount());
+        assertTrue(problemRepo.findByNameAndUser("m2", user).isPresent());
+        assertTrue(sessionReviewService.listAll(session).isEmpty());
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.ctreview.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveReviewPolicyTest {
+
+    private final AdaptiveReviewPolicy policy = new AdaptiveReviewPolicy();
+    private final LocalDateTime now = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    private Problem newProblem(ProblemDifficulty difficulty) {
+        Problem p = new Problem();
+        p.setName("p");
+        p.setDifficulty(difficulty);
+        p.setReviewStep(1);
+        p.setReviewCount(0);
+        p.setStatus(ProblemStatus.ACTIVE);
+        policy.onCreate(p, now);
+        return p;
+    }
+
+    private long daysUntil(Problem p) {
+        return Duration.between(now, p.getNextReviewDate()).toDays();
+    }
+
+    @Test
+    void solveGrowsIntervalByEase() {
+        Problem p = newProblem(ProblemDifficulty.MEDIUM);
+        assertEquals(3, daysUntil(p));
+
+        policy.onSolve(p, now);
+        assertEquals(7, daysUntil(p)); // round(3 * 2.2)
+        assertEquals(1, p.getReviewCount());
+        assertEquals(2, p.getReviewStep());
+        assertTrue(p.getEaseFactor() > AdaptiveReviewPolicy.initialEase(ProblemDifficulty.MEDIUM));
+    }
+
+    @Test
+    void failShrinksIntervalAndEase() {
+        Problem p = newProblem(ProblemDifficulty.LOW);
+        policy.onSolve(p, now);
+        long before = daysUntil(p);
+        double ease = p.getEaseFactor();
+
+        policy.onFail(p, now);
+        assertTrue(daysUntil(p) < before);
+        assertTrue(p.getEaseFactor() < ease);
+        assertEquals(ProblemStatus.ACTIVE, p.getStatus());
+    }
+
+    @Test
+    void graduatesWhenIntervalExceedsLimit() {
+        Problem p = newProblem(ProblemDifficulty.LOW);
+        for (int i = 0; i < 10 && p.getStatus() == ProblemStatus.ACTIVE; i++) {
+            policy.onSolve(p, now);
+        }
+        assertEquals(ProblemStatus.GRADUATED, p.getStatus());
+        assertNull(p.getNextReviewDate());
+    }
+
+    @Test
+    void seedsStateForProblemsCreatedUnderFixedPolicy() {
+        Problem p = new Problem();
+        p.setDifficulty(ProblemDifficulty.HIGH);
+        p.setReviewCount(2);
+        p.setStatus(ProblemStatus.ACTIVE);
+
+        policy.onFail(p, now);
+        assertNotNull(p.getEaseFactor());
+        assertEquals(4, daysUntil(p)); // round(7 * 0.5)
+    }
+}
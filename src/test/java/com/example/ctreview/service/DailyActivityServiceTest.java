@@ -0,0 +1,74 @@
+package com.example.ctreview.service;
+
+import com.example.ctreview.entity.DailyActivity;
+import com.example.ctreview.entity.ReviewAction;
+import com.example.ctreview.entity.User;
+import com.example.ctreview.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 같은 날 첫 처리가 동시에 들어와도 (사용자, 날짜) 행은 하나이고 두 건 모두 집계되어야 한다.
+ */
+@SpringBootTest
+class DailyActivityServiceTest {
+
+    @Autowired
+    DailyActivityService activityService;
+
+    @Autowired
+    StreakService streakService;
+
+    @Autowired
+    UserRepository userRepo;
+
+    @Autowired
+    PlatformTransactionManager txManager;
+
+    @Autowired
+    Clock clock;
+
+    @Test
+    void concurrentFirstActionsOfTheDayShareOneRow() throws Exception {
+        User u = new User();
+        u.setEmail(UUID.randomUUID() + "@test");
+        u.setPasswordHash("-");
+        User user = userRepo.save(u);
+        LocalDate today = LocalDate.now(clock);
+        TransactionTemplate tx = new TransactionTemplate(txManager);
+        CountDownLatch inserted = new CountDownLatch(1);
+
+        // 첫 트랜잭션은 행을 넣고 잠시 커밋하지 않는다: 두 번째는 사용자 잠금에서 기다렸다가 커밋된 행에 더해야 한다
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> tx.executeWithoutResult(s -> {
+            activityService.record(user, ReviewAction.SOLVE, today);
+            inserted.countDown();
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(inserted.await(5, TimeUnit.SECONDS));
+        tx.executeWithoutResult(s -> activityService.record(user, ReviewAction.FAIL, today));
+        first.get(5, TimeUnit.SECONDS);
+
+        List<DailyActivity> rows = activityService.findAll(user);
+        assertEquals(1, rows.size());
+        assertEquals(1, rows.get(0).getSolveCount());
+        assertEquals(1, rows.get(0).getFailCount());
+        assertEquals(1, streakService.currentStreak(user, today));
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.ctreview.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ReviewMetrics metrics = new ReviewMetrics(registry);
+    private final IdempotencyCache cache = new IdempotencyCache(metrics, Duration.ofMinutes(1), 100, Duration.ofSeconds(5));
+
+    @Test
+    void sameKeyRunsOnce() {
+        AtomicInteger runs = new AtomicInteger();
+        String first = cache.execute("u1:solve", "k1", "p1", () -> "r" + runs.incrementAndGet());
+        String second = cache.execute("u1:solve", "k1", "p1", () -> "r" + runs.incrementAndGet());
+        assertEquals("r1", first);
+        assertEquals("r1", second);
+        assertEquals(1, runs.get());
+
+        // 다른 범위의 같은 키는 별개
+        assertEquals("r2", cache.execute("u2:solve", "k1", "p1", () -> "r" + runs.incrementAndGet()));
+    }
+
+    @Test
+    void reusedKeyWithDifferentRequestIsRejected() {
+        cache.execute("u1:solve", "k1", "p1", () -> "r1");
+        assertThrows(IdempotencyCache.KeyReusedException.class,
+                () -> cache.execute("u1:solve", "k1", "p2", () -> "r2"));
+    }
+
+    @Test
+    void failuresAreNotCached() {
+        AtomicInteger runs = new AtomicInteger();
+        assertThrows(IllegalStateException.class, () -> cache.execute("u1:fail", "k", "p", () -> {
+            runs.incrementAndGet();
+            throw new IllegalStateException("boom");
+        }));
+        assertEquals("ok", cache.execute("u1:fail", "k", "p", () -> {
+            runs.incrementAndGet();
+            return "ok";
+        }));
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void waiterIsReleasedWhenFirstCallThrowsError() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> cache.execute("u1:solve", "k", "p", () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new AssertionError("boom");
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Object> waiter = CompletableFuture.supplyAsync(() -> cache.execute("u1:solve", "k", "p", () -> "late"));
+        // 두 번째 요청이 첫 요청 결과를 기다리기 시작한 뒤(replay 집계 후)에 첫 요청을 Error 로 끝낸다
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.counter("ctreview.review.idempotent.replays").count() < 1 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        var e = assertThrows(Exception.class, () -> waiter.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        assertThrows(Exception.class, () -> first.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void maxEntriesIsEnforced() {
+        IdempotencyCache small = new IdempotencyCache(metrics, Duration.ofMinutes(1), 10, Duration.ofSeconds(5));
+        for (int i = 0; i < 100; i++) {
+            int n = i;
+            small.execute("u1:solve", "k" + i, "p", () -> n);
+        }
+        assertTrue(small.size() <= 11, "size=" + small.size());
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.ctreview.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimisticRetryTest {
+
+    private final OptimisticRetry retry = new OptimisticRetry(new ReviewMetrics(new SimpleMeterRegistry()), 3, Duration.ZERO);
+
+    @Test
+    void retriesUntilSuccess() {
+        AtomicInteger attempts = new AtomicInteger();
+        assertEquals("ok", retry.run("solve", () -> {
+            if (attempts.incrementAndGet() < 3) throw new OptimisticLockingFailureException("conflict");
+            return "ok";
+        }));
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+        assertThrows(OptimisticLockingFailureException.class, () -> retry.run("solve", () -> {
+            attempts.incrementAndGet();
+            throw new OptimisticLockingFailureException("conflict");
+        }));
+        assertEquals(3, attempts.get());
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.ctreview.service;
+
+import com.example.ctreview.entity.Problem;
+import com.example.ctreview.entity.ProblemDifficulty;
+import com.example.ctreview.entity.User;
+import com.example.ctreview.repository.ProblemRepository;
+import com.example.ctreview.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 다른 요청이 먼저 커밋해 @Version 이 바뀐 문제를 solve 하면 충돌이 나고, OptimisticRetry 가 새 트랜잭션으로 다시 처리한다.
+ */
+@SpringBootTest
+class ReviewConflictTest {
+
+    @Autowired
+    ReviewService reviewService;
+
+    @Autowired
+    OptimisticRetry retry;
+
+    @Autowired
+    ProblemRepository problemRepo;
+
+    @Autowired
+    UserRepository userRepo;
+
+    @Autowired
+    PlatformTransactionManager txManager;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    private double retriedConflicts() {
+        Counter c = meterRegistry.find("ctreview.review.conflicts").tag("action", "solve").tag("outcome", "retried").counter();
+        return c == null ? 0 : c.count();
+    }
+
+    @Test
+    void versionConflictOnSolveIsRetried() {
+        User u = new User();
+        u.setEmail(UUID.randomUUID() + "@test");
+        u.setPasswordHash("-");
+        User user = userRepo.save(u);
+        reviewService.createProblem(user, null, "c1", null, ProblemDifficulty.MEDIUM);
+
+        TransactionTemplate tx = new TransactionTemplate(txManager);
+        TransactionTemplate other = new TransactionTemplate(txManager);
+        other.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        AtomicInteger attempts = new AtomicInteger();
+        double before = retriedConflicts();
+
+        Problem solved = retry.run("solve", () -> tx.execute(status -> {
+            // 이 트랜잭션에 문제를 먼저 올려 두고, 첫 시도에서만 다른 트랜잭션이 같은 행을 먼저 커밋한다
+            Problem loaded = problemRepo.findByNameAndUser("c1", user).orElseThrow();
+            if (attempts.incrementAndGet() == 1) {
+                other.executeWithoutResult(s -> jdbc.update("update problems set version = version + 1 where id = ?", loaded.getId()));
+            }
+            return reviewService.solve(user, "c1");
+        }));
+
+        assertEquals(2, attempts.get());
+        assertEquals(1, solved.getReviewCount());
+        assertEquals(before + 1, retriedConflicts());
+        assertEquals(1, problemRepo.findByNameAndUser("c1", user).orElseThrow().getReviewCount());
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.ctreview.service;
+
+import com.example.ctreview.controller.RolloverJob;
+import com.example.ctreview.entity.Problem;
+import com.example.ctreview.entity.ProblemDifficulty;
+import com.example.ctreview.entity.ReviewPolicy;
+import com.example.ctreview.entity.User;
+import com.example.ctreview.repository.ProblemRepository;
+import com.example.ctreview.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LAZY 롤오버: 첫 접근 때 한 번만, 동시 첫 접근에도 한 번만, 백그라운드 sweep 은 최근 활동 + 오늘 미처리 사용자만.
+ */
+@SpringBootTest(properties = {
+        "ctreview.rollover.mode=LAZY",
+        "ctreview.rollover.active-days=7",
+        "ctreview.rollover.sweep-pause=PT0S",
+        "ctreview.rollover.lock-min-hold=PT0S"
+})
+class RolloverServiceTest {
+
+    @Autowired
+    RolloverService rolloverService;
+
+    @Autowired
+    RolloverJob rolloverJob;
+
+    @Autowired
+    ReviewService reviewService;
+
+    @Autowired
+    ReviewPolicy reviewPolicy;
+
+    @Autowired
+    ProblemRepository problemRepo;
+
+    @Autowired
+    UserRepository userRepo;
+
+    @Autowired
+    Clock clock;
+
+    private LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    private User user(LocalDate lastRolledDate) {
+        User u = new User();
+        u.setEmail(UUID.randomUUID() + "@test");
+        u.setPasswordHash("-");
+        u.setLastRolledDate(lastRolledDate);
+        return userRepo.save(u);
+    }
+
+    // 3 단위 밀린 문제
+    private Problem overdue(User user, String name) {
+        Problem p = reviewService.newProblem(user, null, name, null, ProblemDifficulty.MEDIUM);
+        p.setNextReviewDate(now().minus(3, reviewPolicy.unit()));
+        return problemRepo.save(p);
+    }
+
+    private LocalDateTime dateOf(Problem p) {
+        return problemRepo.findById(p.getId()).orElseThrow().getNextReviewDate();
+    }
+
+    private boolean isOverdue(Problem p) {
+        return dateOf(p).isBefore(now().minus(1, reviewPolicy.unit()));
+    }
+
+    @Test
+    void firstAccessShiftsOverdueOnce() {
+        User u = user(null);
+        Problem p = overdue(u, "r1");
+        LocalDate today = LocalDate.now(clock);
+
+        assertEquals(today, rolloverService.ensureRolled(u.getId(), null));
+        assertFalse(isOverdue(p));
+        LocalDateTime shifted = dateOf(p);
+
+        // 다시 밀린 상태로 만들어도 오늘은 더 롤오버하지 않는다
+        p = problemRepo.findById(p.getId()).orElseThrow();
+        p.setNextReviewDate(now().minus(3, reviewPolicy.unit()));
+        problemRepo.save(p);
+        assertEquals(today, rolloverService.ensureRolled(u.getId(), today));
+        assertEquals(-1, rolloverService.rollUser(u.getId(), today));
+        assertTrue(isOverdue(p));
+        assertNotEquals(shifted, dateOf(p));
+        assertEquals(today, userRepo.findById(u.getId()).orElseThrow().getLastRolledDate());
+    }
+
+    @Test
+    void concurrentFirstAccessRollsOnce() throws Exception {
+        User u = user(null);
+        overdue(u, "c1");
+        LocalDate today = LocalDate.now(clock);
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Callable<Integer> roll = () -> {
+                barrier.await();
+                return rolloverService.rollUser(u.getId(), today);
+            };
+            Future<Integer> a = pool.submit(roll);
+            Future<Integer> b = pool.submit(roll);
+            List<Integer> results = List.of(a.get(30, TimeUnit.SECONDS), b.get(30, TimeUnit.SECONDS));
+            // markRolled 조건부 update 로 한쪽만 롤오버하고 다른 쪽은 -1
+            assertTrue(results.contains(1), results.toString());
+            assertTrue(results.contains(-1), results.toString());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void sweepSkipsInactiveAndAlreadyRolledUsers() {
+        LocalDate today = LocalDate.now(clock);
+        Problem active = overdue(user(today.minusDays(2)), "s-active");
+        Problem inactive = overdue(user(today.minusDays(30)), "s-inactive");
+        User rolled = user(today);
+        Problem alreadyRolled = overdue(rolled, "s-rolled");
+
+        rolloverJob.rolloverOverdue();
+
+        assertFalse(isOverdue(active));
+        assertTrue(isOverdue(inactive));
+        assertTrue(isOverdue(alreadyRolled));
+    }
+}
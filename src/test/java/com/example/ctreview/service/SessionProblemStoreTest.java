@@ -0,0 +1,74 @@
+package com.example.ctreview.service;
+
+import com.example.ctreview.entity.*;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionProblemStoreTest {
+
+    private Problem problem(String name, Integer number) {
+        Problem p = new Problem();
+        p.setName(name);
+        p.setNumber(number);
+        p.setCategory(ProblemCategory.values()[0]);
+        p.setDifficulty(ProblemDifficulty.MEDIUM);
+        p.setStatus(ProblemStatus.ACTIVE);
+        p.setReviewStep(2);
+        p.setReviewCount(1);
+        p.setNextReviewDate(LocalDateTime.of(2024, 1, 3, 9, 0));
+        return p;
+    }
+
+    @Test
+    void removeKeepsIndexConsistent() {
+        SessionProblemStore store = new SessionProblemStore(100, true);
+        for (int i = 0; i < 20; i++) store.put(problem("p" + i, i));
+
+        assertTrue(store.remove("p3"));
+        assertEquals(19, store.size());
+        assertFalse(store.contains("p3"));
+        Problem moved = store.find("p19").orElseThrow();
+        assertEquals(19, moved.getNumber());
+        assertEquals(LocalDateTime.of(2024, 1, 3, 9, 0), moved.getNextReviewDate());
+    }
+
+    @Test
+    void rejectsBeyondLimit() {
+        SessionProblemStore store = new SessionProblemStore(2, false);
+        store.put(problem("a", null));
+        store.put(problem("b", null));
+        store.put(problem("a", 7)); // 덮어쓰기는 허용
+        assertEquals(7, store.find("a").orElseThrow().getNumber());
+        assertThrows(IllegalStateException.class, () -> store.put(problem("c", null)));
+    }
+
+    @Test
+    void survivesSerialization() throws Exception {
+        SessionProblemStore store = new SessionProblemStore(100, true);
+        Problem graduated = problem("g", null);
+        graduated.graduate();
+        store.put(problem("a", 1));
+        store.put(graduated);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(store);
+        }
+        SessionProblemStore copy;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (SessionProblemStore) in.readObject();
+        }
+
+        assertEquals(2, copy.size());
+        assertEquals(1, copy.find("a").orElseThrow().getNumber());
+        Problem g = copy.find("g").orElseThrow();
+        assertEquals(ProblemStatus.GRADUATED, g.getStatus());
+        assertNull(g.getNextReviewDate());
+        copy.put(problem("b", 2)); // 복원 후에도 추가 가능
+        assertEquals(3, copy.size());
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.ctreview.service;
+
+import com.example.ctreview.entity.User;
+import com.example.ctreview.repository.UserRepository;
+import com.example.ctreview.repository.UserStreakRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 저장된 streak 이 없는 사용자를 동시에 처음 조회해도 행은 하나만 만들어져야 한다.
+ */
+@SpringBootTest
+class StreakServiceTest {
+
+    @Autowired
+    StreakService streakService;
+
+    @Autowired
+    UserRepository userRepo;
+
+    @Autowired
+    UserStreakRepository streakRepo;
+
+    @Autowired
+    PlatformTransactionManager txManager;
+
+    @Autowired
+    Clock clock;
+
+    @Test
+    void concurrentFirstReadsCreateOneStreak() throws Exception {
+        User u = new User();
+        u.setEmail(UUID.randomUUID() + "@test");
+        u.setPasswordHash("-");
+        User user = userRepo.save(u);
+        LocalDate today = LocalDate.now(clock);
+        TransactionTemplate tx = new TransactionTemplate(txManager);
+        CountDownLatch rebuilt = new CountDownLatch(1);
+
+        // 첫 트랜잭션은 streak 을 만들고 잠시 커밋하지 않는다: 두 번째는 잠금에서 기다렸다가 그 행을 읽어야 한다
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> tx.execute(s -> {
+            int streak = streakService.currentStreak(user, today);
+            rebuilt.countDown();
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return streak;
+        }));
+        assertTrue(rebuilt.await(5, TimeUnit.SECONDS));
+        int second = tx.execute(s -> streakService.currentStreak(user, today));
+
+        assertEquals(0, first.get(5, TimeUnit.SECONDS));
+        assertEquals(0, second);
+        assertTrue(streakRepo.existsById(user.getId()));
+    }
+}